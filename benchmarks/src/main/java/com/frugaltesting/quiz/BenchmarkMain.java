@@ -0,0 +1,34 @@
+package com.frugaltesting.quiz;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the harness benchmarks and writes the results as JSON so runs can be
+ * compared against each other.
+ *
+ * Usage: java -jar benchmarks.jar [include-regex] (-Djmh.result=path, default jmh-results.json)
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*Benchmark.*";
+        String resultFile = System.getProperty("jmh.result", "jmh-results.json");
+
+        Options options = new OptionsBuilder()
+            .include(include)
+            .forks(1)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .jvmArgsAppend("-Dquiz.log.console=false")
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile)
+            .build();
+
+        new Runner(options).run();
+        System.out.println("📊 Benchmark results written to " + resultFile);
+    }
+}
@@ -0,0 +1,46 @@
+package com.frugaltesting.quiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of QuizAutomation.log() as seen by the test thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LogBenchmark {
+
+    private QuizAutomation automation;
+    private Path workDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("quiz-bench-log");
+        // Default ring, roll and tail settings, but written under the temp dir instead of ./test-logs/
+        StructuredLogger logger = new StructuredLogger(workDirectory.resolve("execution.jsonl"), false);
+        automation = new QuizAutomation("programming", "easy", workDirectory.resolve("shots") + "/", logger);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        automation.cleanup();
+        BenchmarkFiles.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public void log() {
+        automation.log("❓ First question: What does HTML stand for?");
+    }
+}
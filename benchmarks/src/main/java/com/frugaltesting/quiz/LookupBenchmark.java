@@ -0,0 +1,70 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element lookup and scrape strategies against a headless local copy of
+ * index.html: one WebDriver command per element versus one batched script.
+ * Requires Chrome; the page is taken from -Dquiz.page (default ../index.html).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LookupBenchmark {
+
+    private WebDriver driver;
+    private PageSnapshotter snapshotter;
+
+    @Setup
+    public void setUp() {
+        Path page = Paths.get(System.getProperty("quiz.page", "../index.html"));
+        if (!Files.exists(page)) {
+            page = Paths.get("index.html");
+        }
+        driver = new ChromeDriver(QuizAutomation.createChromeOptions(true));
+        driver.get(page.toAbsolutePath().toUri().toString());
+        driver.findElement(By.id("startBtn")).click();
+        snapshotter = new PageSnapshotter(driver);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public void perElementFindElement(Blackhole blackhole) {
+        blackhole.consume(driver.findElement(By.id("questionText")).getText());
+        blackhole.consume(driver.findElement(By.id("timer")).getText());
+        List<WebElement> options = driver.findElements(By.cssSelector(".option"));
+        for (WebElement option : options) {
+            blackhole.consume(option.getText());
+            blackhole.consume(option.getAttribute("class"));
+        }
+        blackhole.consume(driver.findElement(By.id("nextBtn")).isDisplayed());
+        blackhole.consume(driver.findElement(By.id("submitBtn")).isDisplayed());
+    }
+
+    @Benchmark
+    public QuizPageSnapshot batchedExecuteScript() {
+        return snapshotter.captureQuiz();
+    }
+}
@@ -0,0 +1,78 @@
+package com.frugaltesting.quiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * generateHTMLReport() and the execution log export with a large number of
+ * log entries on disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int logEntries;
+
+    private QuizAutomation automation;
+    private Path workDirectory;
+    private Path output;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("quiz-bench-report");
+        // The default roll size and backup count keep only ~350k entries; never roll here
+        Path logFile = workDirectory.resolve("execution.jsonl");
+        StructuredLogger logger = new StructuredLogger(logFile, StructuredLogger.DEFAULT_RING_CAPACITY,
+            Long.MAX_VALUE, 0, StructuredLogger.DEFAULT_TAIL_LINES, false);
+        automation = new QuizAutomation("programming", "easy", workDirectory.resolve("shots") + "/", logger);
+        for (int i = 0; i < logEntries; i++) {
+            automation.log("   Option " + (i & 3) + ": <a> & \"Hyper Text Markup Language\" #" + i);
+        }
+        logger.flush();
+        long onDisk;
+        try (Stream<String> lines = Files.lines(logFile)) {
+            onDisk = lines.count();
+        }
+        if (onDisk < logEntries) {
+            throw new IllegalStateException("Only " + onDisk + " of " + logEntries + " log entries on disk");
+        }
+        output = workDirectory.resolve("report.html");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        automation.cleanup();
+        BenchmarkFiles.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public void generateHTMLReport() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            automation.generateHTMLReport(writer);
+        }
+    }
+
+    @Benchmark
+    public void saveExecutionLogs() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            automation.writeExecutionLogs(writer);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screenshot capture cost on the calling thread with synthetic PNG payloads:
+ * the background pipeline (distinct and duplicate frames) against the old
+ * synchronous temp-file + Files.copy path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScreenshotBenchmark {
+
+    @Param({"320x240", "1366x900"})
+    public String resolution;
+
+    private byte[][] frames;
+    private int next;
+    private Path folder;
+    private ScreenshotPipeline pipeline;
+    private TakesScreenshot distinctSource;
+    private TakesScreenshot duplicateSource;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] size = resolution.split("x");
+        frames = new byte[][]{
+            noisePng(Integer.parseInt(size[0]), Integer.parseInt(size[1]), 1),
+            noisePng(Integer.parseInt(size[0]), Integer.parseInt(size[1]), 2)
+        };
+        folder = Files.createTempDirectory("quiz-bench-shots");
+        pipeline = new ScreenshotPipeline(folder.toString(), message -> { });
+        distinctSource = source(() -> frames[next++ & 1]);
+        duplicateSource = source(() -> frames[0]);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pipeline.close();
+        BenchmarkFiles.deleteRecursively(folder);
+    }
+
+    @Benchmark
+    public String pipelineDistinctFrames() throws InterruptedException {
+        return pipeline.capture(distinctSource, "question_answered");
+    }
+
+    @Benchmark
+    public String pipelineDuplicateFrames() throws InterruptedException {
+        return pipeline.capture(duplicateSource, "question_answered");
+    }
+
+    @Benchmark
+    public Path synchronousFileCopy() throws IOException {
+        Path screenshot = Files.createTempFile("screenshot", ".png");
+        Files.write(screenshot, frames[next++ & 1]);
+        Path destination = folder.resolve("sync_question_answered.png");
+        Files.copy(screenshot, destination, StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(screenshot);
+        return destination;
+    }
+
+    private interface FrameSupplier {
+        byte[] next();
+    }
+
+    private static TakesScreenshot source(FrameSupplier supplier) {
+        return new TakesScreenshot() {
+            @Override
+            public <X> X getScreenshotAs(OutputType<X> target) {
+                return target.convertFromPngBytes(supplier.next());
+            }
+        };
+    }
+
+    private static byte[] noisePng(int width, int height, long seed) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                // Mostly flat page colour with noisy blocks, closer to a real UI than pure noise
+                image.setRGB(x, y, ((x / 16 + y / 16) % 5 == 0) ? random.nextInt() : 0xF7FAFC);
+            }
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+}
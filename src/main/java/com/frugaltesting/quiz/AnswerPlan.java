@@ -0,0 +1,129 @@
+package com.frugaltesting.quiz;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Chooses which option to pick for every question of a bank.
+ * Answers are option indexes; {@link QuizState#UNANSWERED} skips a question.
+ */
+public interface AnswerPlan {
+
+    String getName();
+
+    int[] answersFor(List<QuestionBank.Question> questions);
+
+    /** The first option of every question (the historical step 3 behaviour). */
+    static AnswerPlan firstOption() {
+        return plan("first-option", questions -> new int[questions.size()]);
+    }
+
+    static AnswerPlan allCorrect() {
+        return plan("all-correct", questions -> questions.stream().mapToInt(QuestionBank.Question::getCorrect).toArray());
+    }
+
+    /** The option after the correct one, or no answer when a question has a single option. */
+    static AnswerPlan allWrong() {
+        return plan("all-wrong", questions -> questions.stream()
+            .mapToInt(q -> q.getOptions().size() < 2 ? QuizState.UNANSWERED : (q.getCorrect() + 1) % q.getOptions().size())
+            .toArray());
+    }
+
+    /** Uniformly random options; the same seed always produces the same answers. */
+    static AnswerPlan seededRandom(long seed) {
+        return plan("random-" + seed, questions -> {
+            Random random = new Random(seed);
+            return questions.stream().mapToInt(q -> random.nextInt(q.getOptions().size())).toArray();
+        });
+    }
+
+    /**
+     * The given answers in order. A shorter list leaves the remaining
+     * questions unanswered; a longer one than the bank is rejected.
+     */
+    static AnswerPlan fixed(int[] answers) {
+        int[] copy = answers.clone();
+        return plan("fixed", questions -> {
+            if (copy.length > questions.size()) {
+                throw new IllegalArgumentException("Answer plan has " + copy.length + " answers for "
+                    + questions.size() + " questions");
+            }
+            int[] padded = Arrays.copyOf(copy, questions.size());
+            Arrays.fill(padded, copy.length, padded.length, QuizState.UNANSWERED);
+            return padded;
+        });
+    }
+
+    /**
+     * Parse "first", "correct", "wrong", "random:SEED" or an answer list
+     * such as "0,2,-,1".
+     */
+    static AnswerPlan parse(String spec) {
+        if (spec == null || spec.isEmpty() || "first".equals(spec)) {
+            return firstOption();
+        }
+        if ("correct".equals(spec)) {
+            return allCorrect();
+        }
+        if ("wrong".equals(spec)) {
+            return allWrong();
+        }
+        if (spec.startsWith("random:")) {
+            return seededRandom(Long.parseLong(spec.substring(7)));
+        }
+        return fixed(QuizState.parseAnswers(spec));
+    }
+
+    /**
+     * Every combination of options (plus "unanswered" when requested), in
+     * mixed-radix order. The sequence is generated lazily.
+     */
+    static Iterable<int[]> exhaustive(List<QuestionBank.Question> questions, boolean includeUnanswered) {
+        int offset = includeUnanswered ? 1 : 0;
+        int[] radix = questions.stream().mapToInt(q -> q.getOptions().size() + offset).toArray();
+        return () -> new Iterator<int[]>() {
+            private final int[] digits = new int[radix.length];
+            private boolean hasNext = true;
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public int[] next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                int[] answers = new int[digits.length];
+                for (int i = 0; i < digits.length; i++) {
+                    answers[i] = digits[i] - offset;
+                }
+                int position = 0;
+                while (position < digits.length && ++digits[position] == radix[position]) {
+                    digits[position++] = 0;
+                }
+                hasNext = position < digits.length;
+                return answers;
+            }
+        };
+    }
+
+    private static AnswerPlan plan(String name, Function<List<QuestionBank.Question>, int[]> answers) {
+        return new AnswerPlan() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public int[] answersFor(List<QuestionBank.Question> questions) {
+                return answers.apply(questions);
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Starts ChromeDriver sessions for a {@link LaunchProfile} and logs how long
+ * each startup took. Lean profiles get a user-data directory from a small
+ * pool under the temp folder; a directory is handed back on {@link #quit}
+ * so the next session reuses its warm caches, and concurrent sessions never
+ * share one.
+ */
+public final class BrowserLauncher {
+
+    private static final Path PROFILE_ROOT = Paths.get(System.getProperty("java.io.tmpdir"), "quiz-chrome-profiles");
+    private static final Queue<Path> FREE_PROFILES = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger PROFILE_COUNT = new AtomicInteger();
+    private static final Map<WebDriver, Path> PROFILES_IN_USE = new ConcurrentHashMap<>();
+
+    private BrowserLauncher() {
+    }
+
+    public static ChromeDriver launch(LaunchProfile profile, Consumer<String> log) {
+        long start = System.nanoTime();
+        DriverResolver.resolve(log);
+        long resolvedAt = System.nanoTime();
+
+        Path profileDirectory = profile.usesProfileDirectory() ? acquireProfileDirectory() : null;
+        ChromeDriver driver;
+        try {
+            driver = startSession(profile, profileDirectory, log);
+        } catch (RuntimeException e) {
+            if (profileDirectory != null) {
+                FREE_PROFILES.offer(profileDirectory);
+            }
+            throw e;
+        }
+        if (profileDirectory != null) {
+            PROFILES_IN_USE.put(driver, profileDirectory);
+        }
+
+        long end = System.nanoTime();
+        log.accept("🚀 " + profile.getId() + " session started in " + TimeUnit.NANOSECONDS.toMillis(end - start)
+            + " ms (driver resolution " + TimeUnit.NANOSECONDS.toMillis(resolvedAt - start) + " ms, browser "
+            + TimeUnit.NANOSECONDS.toMillis(end - resolvedAt) + " ms"
+            + (profileDirectory != null ? ", profile " + profileDirectory.getFileName() : "") + ")");
+        return driver;
+    }
+
+    // A cached driver that no longer matches an updated browser is resolved again and tried once more
+    private static ChromeDriver startSession(LaunchProfile profile, Path profileDirectory, Consumer<String> log) {
+        try {
+            return new ChromeDriver(profile.chromeOptions(profileDirectory));
+        } catch (SessionNotCreatedException e) {
+            if (!DriverResolver.recover(e, log)) {
+                throw e;
+            }
+            return new ChromeDriver(profile.chromeOptions(profileDirectory));
+        }
+    }
+
+    /**
+     * Quit a session started by {@link #launch} and return its profile
+     * directory to the pool.
+     */
+    public static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } finally {
+            release(driver);
+        }
+    }
+
+    /**
+     * Return the profile directory of a session that was already quit.
+     */
+    public static void release(WebDriver driver) {
+        Path profileDirectory = PROFILES_IN_USE.remove(driver);
+        if (profileDirectory != null) {
+            FREE_PROFILES.offer(profileDirectory);
+        }
+    }
+
+    private static Path acquireProfileDirectory() {
+        Path directory = FREE_PROFILES.poll();
+        if (directory == null) {
+            directory = PROFILE_ROOT.resolve("lean-" + PROFILE_COUNT.incrementAndGet());
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create Chrome profile directory " + directory, e);
+        }
+        return directory;
+    }
+}
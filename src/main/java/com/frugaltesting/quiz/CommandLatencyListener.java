@@ -0,0 +1,197 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebDriverListener that records a latency histogram per WebDriver command,
+ * tagged with the current step and question number. Used through Selenium's
+ * EventFiringDecorator.
+ */
+public class CommandLatencyListener implements WebDriverListener {
+
+    // Upper bounds in seconds, Prometheus style ("le"); the last bucket is +Inf
+    static final double[] BUCKETS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final Map<Key, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile String step = "setup";
+    private volatile int question;
+
+    private static final class Key implements Comparable<Key> {
+        final String command;
+        final String step;
+        final int question;
+
+        Key(String command, String step, int question) {
+            this.command = command;
+            this.step = step;
+            this.question = question;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return question == key.question && command.equals(key.command) && step.equals(key.step);
+        }
+
+        @Override
+        public int hashCode() {
+            return (command.hashCode() * 31 + step.hashCode()) * 31 + question;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byStep = step.compareTo(other.step);
+            if (byStep != 0) {
+                return byStep;
+            }
+            int byQuestion = Integer.compare(question, other.question);
+            return byQuestion != 0 ? byQuestion : command.compareTo(other.command);
+        }
+    }
+
+    /**
+     * Latency histogram with fixed buckets.
+     */
+    public static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+
+        void record(long nanos) {
+            double seconds = nanos / 1e9;
+            int bucket = 0;
+            while (bucket < BUCKETS.length && seconds > BUCKETS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            sumNanos.add(nanos);
+        }
+
+        void mergeInto(Histogram target) {
+            for (int i = 0; i < buckets.length(); i++) {
+                target.buckets.addAndGet(i, buckets.get(i));
+            }
+            target.count.add(count.sum());
+            target.sumNanos.add(sumNanos.sum());
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getTotalMillis() {
+            return sumNanos.sum() / 1e6;
+        }
+
+        /** Upper bucket bound (ms) containing the given percentile. */
+        public double percentileUpperBoundMillis(double percentile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return i < BUCKETS.length ? BUCKETS[i] * 1000 : Double.POSITIVE_INFINITY;
+                }
+            }
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Tag subsequent commands with a step name and question number (0 = none).
+     */
+    public void setContext(String step, int question) {
+        this.step = step;
+        this.question = question;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private void record(Method method) {
+        Deque<Long> stack = startTimes.get();
+        if (stack.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stack.pop();
+        histograms.computeIfAbsent(new Key(method.getName(), step, question), key -> new Histogram()).record(elapsed);
+    }
+
+    /**
+     * Histograms merged across questions, keyed by step then command.
+     */
+    public Map<String, Map<String, Histogram>> byStepAndCommand() {
+        Map<String, Map<String, Histogram>> merged = new TreeMap<>();
+        histograms.forEach((key, histogram) -> histogram.mergeInto(
+            merged.computeIfAbsent(key.step, s -> new TreeMap<>())
+                .computeIfAbsent(key.command, c -> new Histogram())));
+        return merged;
+    }
+
+    /**
+     * Write every histogram in the Prometheus text exposition format.
+     */
+    public void exportPrometheus(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        List<Key> keys = new ArrayList<>(histograms.keySet());
+        keys.sort(null);
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# HELP quiz_webdriver_command_seconds WebDriver command latency by step and question\n");
+            writer.write("# TYPE quiz_webdriver_command_seconds histogram\n");
+            for (Key key : keys) {
+                Histogram histogram = histograms.get(key);
+                String labels = "command=\"" + key.command + "\",step=\"" + key.step + "\",question=\"" + key.question + "\"";
+                long cumulative = 0;
+                for (int i = 0; i < histogram.buckets.length(); i++) {
+                    cumulative += histogram.buckets.get(i);
+                    String le = i < BUCKETS.length ? Double.toString(BUCKETS[i]) : "+Inf";
+                    writer.write("quiz_webdriver_command_seconds_bucket{" + labels + ",le=\"" + le + "\"} " + cumulative + "\n");
+                }
+                writer.write("quiz_webdriver_command_seconds_sum{" + labels + "} " + (histogram.sumNanos.sum() / 1e9) + "\n");
+                writer.write("quiz_webdriver_command_seconds_count{" + labels + "} " + histogram.getCount() + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * WebDriverListener that records every WebDriver command of a run (target,
+ * method, arguments and the response or error) so {@link ReplayDriver} can
+ * serve the same run without a browser.
+ *
+ * The recording is gzip-compressed JSON lines: a header, then one line per
+ * command. Elements are stored as stable references ("e1", "e2", ...), and
+ * long strings such as the injected scripts are stored once and referenced
+ * afterwards. Screenshots keep only a marker, not the image.
+ */
+public class CommandRecorder implements WebDriverListener {
+
+    static final String FORMAT = "quiz-commands";
+    static final int VERSION = 1;
+    // Strings longer than this are written once and referenced by id
+    private static final int INTERN_THRESHOLD = 120;
+
+    private static final Map<Class<?>, String> PROXY_TYPES = new LinkedHashMap<>();
+
+    static {
+        PROXY_TYPES.put(WebDriver.Options.class, "Options");
+        PROXY_TYPES.put(WebDriver.Timeouts.class, "Timeouts");
+        PROXY_TYPES.put(WebDriver.Navigation.class, "Navigation");
+        PROXY_TYPES.put(WebDriver.TargetLocator.class, "TargetLocator");
+        PROXY_TYPES.put(WebDriver.Window.class, "Window");
+        PROXY_TYPES.put(Alert.class, "Alert");
+    }
+
+    private final List<Map<String, Object>> lines = new ArrayList<>();
+    private final Map<String, String> elementRefs = new HashMap<>();
+    private final Map<Object, String> anonymousElements = new IdentityHashMap<>();
+    private final Map<String, String> internedStrings = new HashMap<>();
+    private final boolean internStrings;
+    private int commandCount;
+
+    public CommandRecorder() {
+        this(true);
+    }
+
+    // Without interning, encode() output is self-contained and can be compared with a recording directly
+    CommandRecorder(boolean internStrings) {
+        this.internStrings = internStrings;
+    }
+
+    @Override
+    public synchronized void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Map<String, Object> command = command(target, method, args);
+        command.put("r", "getScreenshotAs".equals(method.getName())
+            ? Map.of("@png", true) : encode(result));
+        lines.add(command);
+        commandCount++;
+    }
+
+    @Override
+    public synchronized void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Map<String, Object> command = command(target, method, args);
+        Throwable cause = e.getTargetException();
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("type", cause.getClass().getName());
+        // Selenium appends build and session details after the first line
+        String message = cause.getMessage() == null ? "" : cause.getMessage();
+        error.put("message", message.contains("\n") ? message.substring(0, message.indexOf('\n')) : message);
+        command.put("x", error);
+        lines.add(command);
+        commandCount++;
+    }
+
+    private Map<String, Object> command(Object target, Method method, Object[] args) {
+        Map<String, Object> command = new LinkedHashMap<>();
+        command.put("t", targetName(target));
+        command.put("m", method.getName());
+        command.put("a", encode(args == null ? new Object[0] : args));
+        return command;
+    }
+
+    public synchronized int getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Write the recording as gzip JSON lines.
+     */
+    public synchronized void write(Path file, String browser) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        Json json = new Json();
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("format", FORMAT);
+            header.put("version", VERSION);
+            header.put("recorded", Instant.now().toString());
+            header.put("browser", browser);
+            header.put("commands", commandCount);
+            writeLine(json, out, header);
+            for (Map<String, Object> line : lines) {
+                writeLine(json, out, line);
+            }
+        }
+    }
+
+    private static void writeLine(Json json, Writer out, Map<String, Object> line) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (JsonOutput output = json.newOutput(text)) {
+            output.setPrettyPrint(false).write(line);
+        }
+        out.write(text.append('\n').toString());
+    }
+
+    /**
+     * Read a recording back: the command lines in order, with interned
+     * strings already resolved.
+     */
+    static List<Map<String, Object>> read(Path file) throws IOException {
+        Json json = new Json();
+        Map<String, String> strings = new HashMap<>();
+        List<Map<String, Object>> commands = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            Map<String, Object> header = json.toType(in.readLine(), Json.MAP_TYPE);
+            if (header == null || !FORMAT.equals(header.get("format"))) {
+                throw new IOException(file + " is not a command recording");
+            }
+            String line;
+            while ((line = in.readLine()) != null) {
+                Map<String, Object> entry = json.toType(line, Json.MAP_TYPE);
+                if (entry.containsKey("s")) {
+                    strings.put((String) entry.get("s"), (String) entry.get("v"));
+                } else {
+                    commands.add(resolveStrings(entry, strings));
+                }
+            }
+        }
+        return commands;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T resolveStrings(T value, Map<String, String> strings) {
+        if (value instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) value;
+            if (map.size() == 1 && map.containsKey("@s")) {
+                return (T) strings.get(map.get("@s"));
+            }
+            Map<String, Object> resolved = new LinkedHashMap<>();
+            map.forEach((key, item) -> resolved.put(key, resolveStrings(item, strings)));
+            return (T) resolved;
+        }
+        if (value instanceof List) {
+            List<Object> resolved = new ArrayList<>();
+            for (Object item : (List<Object>) value) {
+                resolved.add(resolveStrings(item, strings));
+            }
+            return (T) resolved;
+        }
+        return value;
+    }
+
+    private String targetName(Object target) {
+        if (target instanceof WebElement) {
+            return elementRef(unwrap(target));
+        }
+        if (target instanceof WebDriver) {
+            return "driver";
+        }
+        String proxy = proxyType(target);
+        return proxy != null ? proxy : target.getClass().getSimpleName();
+    }
+
+    static String proxyType(Object value) {
+        for (Map.Entry<Class<?>, String> type : PROXY_TYPES.entrySet()) {
+            if (type.getKey().isInstance(value)) {
+                return type.getValue();
+            }
+        }
+        return null;
+    }
+
+    static Class<?> proxyInterface(String name) {
+        for (Map.Entry<Class<?>, String> type : PROXY_TYPES.entrySet()) {
+            if (type.getValue().equals(name)) {
+                return type.getKey();
+            }
+        }
+        return null;
+    }
+
+    // Remote elements are keyed by their session-wide id, so the same node found twice gets one reference
+    String elementRef(Object element) {
+        if (element instanceof RemoteWebElement) {
+            return elementRefs.computeIfAbsent(((RemoteWebElement) element).getId(), id -> nextElementRef());
+        }
+        return anonymousElements.computeIfAbsent(element, key -> nextElementRef());
+    }
+
+    // Results and arguments reach the listener still decorated; targets arrive unwrapped
+    private static Object unwrap(Object element) {
+        while (element instanceof WrapsElement) {
+            element = ((WrapsElement) element).getWrappedElement();
+        }
+        return element;
+    }
+
+    private String nextElementRef() {
+        return "e" + (elementRefs.size() + anonymousElements.size() + 1);
+    }
+
+    Object encode(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Number) {
+            return value;
+        }
+        if (value instanceof CharSequence) {
+            return intern(value.toString());
+        }
+        if (value instanceof WebElement) {
+            return Map.of("@element", elementRef(unwrap(value)));
+        }
+        if (value instanceof WebDriver) {
+            return Map.of("@proxy", "WebDriver");
+        }
+        if (value instanceof By) {
+            return Map.of("@by", value.toString());
+        }
+        if (value instanceof Duration) {
+            return Map.of("@duration", ((Duration) value).toMillis());
+        }
+        if (value instanceof OutputType) {
+            return Map.of("@value", value.toString());
+        }
+        if (value instanceof Dimension) {
+            Dimension size = (Dimension) value;
+            return Map.of("@dimension", List.of(size.getWidth(), size.getHeight()));
+        }
+        if (value instanceof Point) {
+            Point point = (Point) value;
+            return Map.of("@point", List.of(point.getX(), point.getY()));
+        }
+        if (value instanceof Rectangle) {
+            Rectangle rect = (Rectangle) value;
+            return Map.of("@rect", List.of(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight()));
+        }
+        if (value instanceof Capabilities) {
+            return Map.of("@capabilities", encode(((Capabilities) value).asMap()));
+        }
+        if (value instanceof Object[]) {
+            return encode(Arrays.asList((Object[]) value));
+        }
+        if (value instanceof Iterable) {
+            List<Object> list = new ArrayList<>();
+            for (Object item : (Iterable<?>) value) {
+                list.add(encode(item));
+            }
+            return list;
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> map.put(String.valueOf(key), encode(item)));
+            return map;
+        }
+        String proxy = proxyType(value);
+        if (proxy != null) {
+            return Map.of("@proxy", proxy);
+        }
+        // Anything else (action sequences, files) is compared by type only
+        return Map.of("@type", value.getClass().getName());
+    }
+
+    private Object intern(String text) {
+        if (!internStrings || text.length() <= INTERN_THRESHOLD) {
+            return text;
+        }
+        String id = internedStrings.get(text);
+        if (id == null) {
+            id = "s" + (internedStrings.size() + 1);
+            internedStrings.put(text, id);
+            Map<String, Object> definition = new LinkedHashMap<>();
+            definition.put("s", id);
+            definition.put("v", text);
+            lines.add(definition);
+        }
+        return Map.of("@s", id);
+    }
+}
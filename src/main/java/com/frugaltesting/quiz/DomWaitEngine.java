@@ -0,0 +1,166 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Push-based wait engine for the quiz page.
+ * Installs a MutationObserver through an async script and returns as soon as
+ * the expected DOM change appears, instead of sleeping or polling from Java.
+ */
+public class DomWaitEngine {
+
+    private static final String WAIT_SCRIPT =
+        "var kind = arguments[0], arg = arguments[1], timeoutMs = arguments[2];" +
+        "var done = arguments[arguments.length - 1];" +
+        "var setT = window.__quizRealSetTimeout || setTimeout;" +
+        "var clearT = window.__quizRealClearTimeout || clearTimeout;" +
+        "var start = performance.now();" +
+        "function check() {" +
+        "  if (kind === 'optionSelected') {" +
+        "    var option = document.querySelectorAll('.option')[arg];" +
+        "    return !!option && option.classList.contains('selected');" +
+        "  }" +
+        "  if (kind === 'questionChanged') {" +
+        "    var counter = document.getElementById('currentQuestion');" +
+        "    return currentQuestionIndex !== arg && !!counter && counter.textContent.trim() === String(currentQuestionIndex + 1);" +
+        "  }" +
+        "  if (kind === 'screenActive') {" +
+        "    var screen = document.getElementById(arg);" +
+        "    return !!screen && screen.classList.contains('active');" +
+        "  }" +
+        "  return false;" +
+        "}" +
+        "if (check()) { done({satisfied: true, elapsed: performance.now() - start}); return; }" +
+        "var finished = false, timeoutId;" +
+        "var observer = new MutationObserver(function() { if (!finished && check()) { finish(true); } });" +
+        "function finish(ok) {" +
+        "  finished = true; observer.disconnect(); clearT(timeoutId);" +
+        "  done({satisfied: ok, elapsed: performance.now() - start});" +
+        "}" +
+        "observer.observe(document.body, {subtree: true, childList: true, characterData: true," +
+        "  attributes: true, attributeFilter: ['class']});" +
+        "timeoutId = setT(function() { if (!finished) { finish(check()); } }, timeoutMs);";
+
+    private final WebDriver driver;
+    private final List<WaitRecord> records = new ArrayList<>();
+    private Duration scriptTimeout = Duration.ZERO;
+
+    public DomWaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Timing of a single wait: total round trip seen from Java and the time
+     * the page itself spent until the condition held.
+     */
+    public static class WaitRecord {
+        private final String description;
+        private final long roundTripMillis;
+        private final double pageMillis;
+        private final boolean satisfied;
+
+        WaitRecord(String description, long roundTripMillis, double pageMillis, boolean satisfied) {
+            this.description = description;
+            this.roundTripMillis = roundTripMillis;
+            this.pageMillis = pageMillis;
+            this.satisfied = satisfied;
+        }
+
+        public String getDescription() { return description; }
+        public long getRoundTripMillis() { return roundTripMillis; }
+        public double getPageMillis() { return pageMillis; }
+        public boolean isSatisfied() { return satisfied; }
+    }
+
+    public WaitRecord waitForOptionSelected(int optionIndex, Duration timeout) {
+        return await("optionSelected", optionIndex, timeout, "option " + optionIndex + " selected");
+    }
+
+    /**
+     * Wait until the app has moved off the given question and rendered the
+     * new one. Keyed on the question index, so two questions with the same
+     * text still count as a change.
+     */
+    public WaitRecord waitForQuestionChange(int previousIndex, Duration timeout) {
+        return await("questionChanged", previousIndex, timeout, "question " + (previousIndex + 1) + " left");
+    }
+
+    public WaitRecord waitForScreenActive(String screenId, Duration timeout) {
+        return await("screenActive", screenId, timeout, "#" + screenId + " active");
+    }
+
+    /**
+     * Throws a TimeoutException when the recorded wait was not satisfied
+     * within its timeout.
+     */
+    public WaitRecord require(WaitRecord record) {
+        if (!record.isSatisfied()) {
+            throw new TimeoutException("Timed out waiting for " + record.getDescription()
+                + " after " + record.getRoundTripMillis() + " ms");
+        }
+        return record;
+    }
+
+    private WaitRecord await(String kind, Object argument, Duration timeout, String description) {
+        ensureScriptTimeout(timeout);
+        long start = System.nanoTime();
+        Object raw = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, kind, argument, timeout.toMillis());
+        long roundTripMillis = (System.nanoTime() - start) / 1_000_000;
+
+        boolean satisfied = false;
+        double pageMillis = 0;
+        if (raw instanceof Map) {
+            Map<?, ?> result = (Map<?, ?>) raw;
+            satisfied = Boolean.TRUE.equals(result.get("satisfied"));
+            Object elapsed = result.get("elapsed");
+            if (elapsed instanceof Number) {
+                pageMillis = ((Number) elapsed).doubleValue();
+            }
+        }
+
+        WaitRecord record = new WaitRecord(description, roundTripMillis, pageMillis, satisfied);
+        synchronized (records) {
+            records.add(record);
+        }
+        return record;
+    }
+
+    /**
+     * Run another self-timing async script under the same script-timeout
+     * bookkeeping as the DOM waits.
+     */
+    public Object executeAsync(String script, Duration timeout, Object... args) {
+        ensureScriptTimeout(timeout);
+        return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+    }
+
+    // The async script enforces the per-wait timeout itself; the driver-side
+    // script timeout only has to be a safety margin above the longest wait
+    private void ensureScriptTimeout(Duration timeout) {
+        Duration needed = timeout.plusSeconds(5);
+        if (needed.compareTo(scriptTimeout) > 0) {
+            driver.manage().timeouts().scriptTimeout(needed);
+            scriptTimeout = needed;
+        }
+    }
+
+    public List<WaitRecord> getRecords() {
+        synchronized (records) {
+            return Collections.unmodifiableList(new ArrayList<>(records));
+        }
+    }
+
+    public long getTotalWaitMillis() {
+        synchronized (records) {
+            return records.stream().mapToLong(WaitRecord::getRoundTripMillis).sum();
+        }
+    }
+}
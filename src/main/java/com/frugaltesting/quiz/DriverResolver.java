@@ -0,0 +1,190 @@
+package com.frugaltesting.quiz;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.SessionNotCreatedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the chromedriver binary once and remembers it.
+ * The first resolution goes through WebDriverManager (downloading into
+ * .driver-cache/ if needed) and runs "chromedriver --version" to prove the
+ * binary works. The checked path, size and timestamp are stored in
+ * .driver-cache/chromedriver.properties, so later runs reuse it without
+ * network access or another version check. The browser major version the
+ * driver was resolved for is stored too; when the browser has been updated
+ * since, the session fails to start and {@link #recover} drops the cache
+ * and resolves a matching driver.
+ */
+public final class DriverResolver {
+
+    static final Path CACHE_FOLDER = Paths.get(".driver-cache");
+    private static final Path CACHE_FILE = CACHE_FOLDER.resolve("chromedriver.properties");
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+    // ChromeDriver's refusal names the installed browser: "Current browser version is 120.0.6099.109"
+    private static final Pattern BROWSER_VERSION = Pattern.compile("Current browser version is (\\d+)");
+
+    private static volatile Path resolved;
+    private static boolean attempted;
+    private static boolean fromCache;
+
+    private DriverResolver() {
+    }
+
+    /**
+     * Make sure webdriver.chrome.driver points at a working chromedriver.
+     *
+     * @return the driver path, or null when resolution failed and Selenium
+     *         Manager has to find a driver on its own
+     */
+    public static synchronized Path resolve(Consumer<String> log) {
+        if (resolved != null || attempted) {
+            return resolved;
+        }
+        attempted = true;
+        long start = System.nanoTime();
+
+        String configured = System.getProperty(DRIVER_PROPERTY);
+        if (configured != null) {
+            resolved = Paths.get(configured);
+            log.accept("🔧 Using chromedriver from -D" + DRIVER_PROPERTY + ": " + resolved);
+            return resolved;
+        }
+
+        Path cached = readCache();
+        if (cached != null) {
+            use(cached);
+            fromCache = true;
+            log.accept("🔧 Using cached chromedriver " + cached + " ("
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, no network)");
+            return resolved;
+        }
+
+        try {
+            WebDriverManager manager = WebDriverManager.chromedriver()
+                .cachePath(CACHE_FOLDER.toAbsolutePath().toString())
+                .avoidExport();
+            manager.setup();
+            Path driver = Paths.get(manager.getDownloadedDriverPath());
+            String version = checkVersion(driver);
+            writeCache(driver, version, majorVersion(manager.getDownloadedDriverVersion()));
+            use(driver);
+            log.accept("🔧 Resolved " + version + " at " + driver + " ("
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, cached for offline runs)");
+        } catch (Exception e) {
+            log.accept("⚠️ chromedriver resolution failed, falling back to Selenium Manager: " + e.getMessage());
+        }
+        return resolved;
+    }
+
+    /**
+     * Called when Chrome refused a session. If the driver came from the
+     * cache it was probably resolved for an older browser, so the cache is
+     * dropped and the driver resolved again.
+     *
+     * @return true when the session is worth retrying: a different driver
+     *         was resolved, or Selenium Manager now gets to pick one
+     */
+    public static synchronized boolean recover(SessionNotCreatedException failure, Consumer<String> log) {
+        if (!fromCache) {
+            return false;
+        }
+        String cachedFor = readCacheProperty("browserMajor");
+        Matcher current = BROWSER_VERSION.matcher(String.valueOf(failure.getMessage()));
+        log.accept("♻️ Cached chromedriver " + resolved + " (for Chrome " + (cachedFor.isEmpty() ? "?" : cachedFor)
+            + ") was rejected" + (current.find() ? " by Chrome " + current.group(1) : "") + ", resolving again");
+        try {
+            Files.deleteIfExists(CACHE_FILE);
+        } catch (IOException e) {
+            log.accept("⚠️ Could not delete " + CACHE_FILE + ": " + e.getMessage());
+        }
+        Path stale = resolved;
+        System.clearProperty(DRIVER_PROPERTY);
+        resolved = null;
+        attempted = false;
+        fromCache = false;
+        return !stale.equals(resolve(log));
+    }
+
+    private static void use(Path driver) {
+        System.setProperty(DRIVER_PROPERTY, driver.toString());
+        resolved = driver;
+    }
+
+    // A cache entry is trusted only while the binary still has the size and timestamp it was checked with
+    private static Path readCache() {
+        if (!Files.exists(CACHE_FILE)) {
+            return null;
+        }
+        Properties cache = new Properties();
+        try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+            cache.load(in);
+            Path driver = Paths.get(cache.getProperty("path", ""));
+            if (Files.isExecutable(driver)
+                    && Long.toString(Files.size(driver)).equals(cache.getProperty("size"))
+                    && Long.toString(Files.getLastModifiedTime(driver).toMillis()).equals(cache.getProperty("modified"))) {
+                return driver;
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unreadable or stale cache: resolve again
+        }
+        return null;
+    }
+
+    private static String readCacheProperty(String key) {
+        Properties cache = new Properties();
+        try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+            cache.load(in);
+        } catch (IOException e) {
+            return "";
+        }
+        return cache.getProperty(key, "");
+    }
+
+    // WebDriverManager picks the driver release matching the installed browser, so their majors agree
+    private static String majorVersion(String driverVersion) {
+        if (driverVersion == null) {
+            return "";
+        }
+        int dot = driverVersion.indexOf('.');
+        return dot < 0 ? driverVersion : driverVersion.substring(0, dot);
+    }
+
+    private static void writeCache(Path driver, String version, String browserMajor) throws IOException {
+        Files.createDirectories(CACHE_FOLDER);
+        Properties cache = new Properties();
+        cache.setProperty("path", driver.toAbsolutePath().toString());
+        cache.setProperty("version", version);
+        cache.setProperty("browserMajor", browserMajor);
+        cache.setProperty("size", Long.toString(Files.size(driver)));
+        cache.setProperty("modified", Long.toString(Files.getLastModifiedTime(driver).toMillis()));
+        try (OutputStream out = Files.newOutputStream(CACHE_FILE)) {
+            cache.store(out, "chromedriver checked by DriverResolver");
+        }
+    }
+
+    // Run the binary once so a corrupt or wrong-platform driver fails here, not inside new ChromeDriver()
+    private static String checkVersion(Path driver) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(driver.toString(), "--version").redirectErrorStream(true).start();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException(driver + " --version timed out");
+        }
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (process.exitValue() != 0 || !output.startsWith("ChromeDriver")) {
+            throw new IOException(driver + " is not a working chromedriver: " + output);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,224 @@
+package com.frugaltesting.quiz;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal parser for JavaScript object literals as written in index.html:
+ * objects with bare or quoted keys, arrays, single or double quoted strings,
+ * numbers, true/false/null, trailing commas and comments. Objects become
+ * LinkedHashMaps, arrays Lists and numbers Doubles.
+ */
+final class JsLiteralParser {
+
+    private final String source;
+    private int position;
+
+    private JsLiteralParser(String source, int position) {
+        this.source = source;
+        this.position = position;
+    }
+
+    /**
+     * Parse the literal assigned by "const|let|var name = ..." in the source.
+     */
+    static Object parseAssignment(String source, String name) {
+        Matcher declaration = Pattern.compile("\\b(?:const|let|var)\\s+" + Pattern.quote(name) + "\\s*=")
+            .matcher(source);
+        if (!declaration.find()) {
+            throw new IllegalArgumentException("No declaration of " + name + " found");
+        }
+        return new JsLiteralParser(source, declaration.end()).value();
+    }
+
+    private Object value() {
+        skipWhitespace();
+        char c = peek();
+        switch (c) {
+            case '{': return object();
+            case '[': return array();
+            case '"':
+            case '\'':
+            case '`':
+                return string();
+            default:
+                if (c == '-' || Character.isDigit(c)) {
+                    return number();
+                }
+                String word = identifier();
+                switch (word) {
+                    case "true": return Boolean.TRUE;
+                    case "false": return Boolean.FALSE;
+                    case "null": return null;
+                    default: throw error("Unsupported value '" + word + "'");
+                }
+        }
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        expect('{');
+        while (true) {
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return object;
+            }
+            char c = peek();
+            String key = c == '"' || c == '\'' ? string() : identifier();
+            skipWhitespace();
+            expect(':');
+            object.put(key, value());
+            if (!separator('}')) {
+                return object;
+            }
+        }
+    }
+
+    private List<Object> array() {
+        List<Object> array = new ArrayList<>();
+        expect('[');
+        while (true) {
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                return array;
+            }
+            array.add(value());
+            if (!separator(']')) {
+                return array;
+            }
+        }
+    }
+
+    // Consumes ',' (true, more may follow) or the closing bracket (false)
+    private boolean separator(char close) {
+        skipWhitespace();
+        char c = peek();
+        position++;
+        if (c == ',') {
+            return true;
+        }
+        if (c == close) {
+            return false;
+        }
+        throw error("Expected ',' or '" + close + "'");
+    }
+
+    private String string() {
+        char quote = source.charAt(position++);
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == quote) {
+                return text.toString();
+            }
+            if (quote == '`' && c == '$' && peek() == '{') {
+                throw error("Template literals with substitutions are not supported");
+            }
+            if (c != '\\') {
+                text.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'n': text.append('\n'); break;
+                case 't': text.append('\t'); break;
+                case 'r': text.append('\r'); break;
+                case 'b': text.append('\b'); break;
+                case 'f': text.append('\f'); break;
+                case '0': text.append('\0'); break;
+                case 'u':
+                    text.append((char) Integer.parseInt(source.substring(position, position + 4), 16));
+                    position += 4;
+                    break;
+                case 'x':
+                    text.append((char) Integer.parseInt(source.substring(position, position + 2), 16));
+                    position += 2;
+                    break;
+                case '\n': break; // line continuation
+                default: text.append(escaped);
+            }
+        }
+    }
+
+    private Double number() {
+        int start = position;
+        if (peek() == '-') {
+            position++;
+        }
+        while (position < source.length()
+                && (Character.isDigit(peek()) || peek() == '.' || peek() == 'e' || peek() == 'E'
+                    || ((peek() == '+' || peek() == '-') && (source.charAt(position - 1) | 0x20) == 'e'))) {
+            position++;
+        }
+        return Double.valueOf(source.substring(start, position));
+    }
+
+    private String identifier() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(peek()) || peek() == '_' || peek() == '$')) {
+            position++;
+        }
+        if (start == position) {
+            throw error("Unexpected character '" + peek() + "'");
+        }
+        return source.substring(start, position);
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length()) {
+            char c = source.charAt(position);
+            if (Character.isWhitespace(c)) {
+                position++;
+            } else if (source.startsWith("//", position)) {
+                int end = source.indexOf('\n', position);
+                position = end < 0 ? source.length() : end + 1;
+            } else if (source.startsWith("/*", position)) {
+                int end = source.indexOf("*/", position + 2);
+                if (end < 0) {
+                    throw error("Unterminated comment");
+                }
+                position = end + 2;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void expect(char expected) {
+        skipWhitespace();
+        if (next() != expected) {
+            position--;
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private char peek() {
+        if (position >= source.length()) {
+            throw error("Unexpected end of input");
+        }
+        return source.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private IllegalArgumentException error(String message) {
+        int line = 1;
+        for (int i = 0; i < Math.min(position, source.length()); i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return new IllegalArgumentException(message + " at line " + line);
+    }
+}
@@ -0,0 +1,61 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Select;
+
+/**
+ * The #landingPage screen: player name, category and difficulty pickers and
+ * the start button.
+ */
+public class LandingPage extends PageObject {
+
+    public LandingPage(WebDriver driver) {
+        super(driver, "landing");
+        require("landingPage", "Landing Page Container");
+        require("username", "Username Input Field");
+        require("categorySelect", "Category Selection Dropdown");
+        require("difficultySelect", "Difficulty Selection Dropdown");
+        require("startBtn", "Start Quiz Button");
+    }
+
+    public String getUsername() {
+        return withElement("username", field -> field.getAttribute("value"));
+    }
+
+    public void enterUsername(String username) {
+        withElement("username", field -> {
+            field.clear();
+            field.sendKeys(username);
+            return null;
+        });
+    }
+
+    /**
+     * @return the visible text of the selected category
+     */
+    public String selectCategory(String value) {
+        return selectByValue("categorySelect", value);
+    }
+
+    /**
+     * @return the visible text of the selected difficulty
+     */
+    public String selectDifficulty(String value) {
+        return selectByValue("difficultySelect", value);
+    }
+
+    public void clickStart() {
+        withElement("startBtn", button -> {
+            button.click();
+            return null;
+        });
+    }
+
+    private String selectByValue(String id, String value) {
+        return withElement(id, element -> {
+            Select select = new Select(element);
+            select.selectByValue(value);
+            return select.getFirstSelectedOption().getText();
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Locale;
+
+/**
+ * Named Chrome launch configurations, picked with -Dquiz.profile.
+ *
+ * <pre>
+ *   headed-debug    visible, maximised window (the original behaviour)
+ *   headless-fast   headless with a fixed window size
+ *   headless-lean   headless-fast plus no images, no background services
+ *                   and a reusable on-disk profile instead of a fresh one
+ * </pre>
+ */
+public enum LaunchProfile {
+
+    HEADED_DEBUG("headed-debug", false, false),
+    HEADLESS_FAST("headless-fast", true, false),
+    HEADLESS_LEAN("headless-lean", true, true);
+
+    static final String WINDOW_SIZE = "1366,900";
+
+    private final String id;
+    private final boolean headless;
+    private final boolean lean;
+
+    LaunchProfile(String id, boolean headless, boolean lean) {
+        this.id = id;
+        this.headless = headless;
+        this.lean = lean;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /** True when the profile wants a reusable user-data directory. */
+    public boolean usesProfileDirectory() {
+        return lean;
+    }
+
+    /**
+     * Chrome options for this profile. Lean profiles pass the user-data
+     * directory to reuse, or null for a fresh temporary one.
+     */
+    public ChromeOptions chromeOptions(Path userDataDirectory) {
+        ChromeOptions options = new ChromeOptions();
+        if (headless) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=" + WINDOW_SIZE);
+        } else {
+            options.addArguments("--start-maximized");
+        }
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+
+        if (lean) {
+            options.addArguments("--blink-settings=imagesEnabled=false");
+            options.setExperimentalOption("prefs",
+                Collections.singletonMap("profile.managed_default_content_settings.images", 2));
+            options.addArguments("--disable-gpu");
+            options.addArguments("--no-first-run");
+            options.addArguments("--no-default-browser-check");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-sync");
+            options.addArguments("--mute-audio");
+            if (userDataDirectory != null) {
+                options.addArguments("--user-data-dir=" + userDataDirectory.toAbsolutePath());
+            }
+        }
+        return options;
+    }
+
+    /**
+     * The profile named by -Dquiz.profile, or the given default.
+     */
+    public static LaunchProfile fromProperty(LaunchProfile defaultProfile) {
+        String name = System.getProperty("quiz.profile");
+        return name == null || name.isEmpty() ? defaultProfile : fromId(name);
+    }
+
+    public static LaunchProfile fromId(String id) {
+        for (LaunchProfile profile : values()) {
+            if (profile.id.equals(id) || profile.name().equals(id.toUpperCase(Locale.ROOT))) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown launch profile: " + id);
+    }
+}
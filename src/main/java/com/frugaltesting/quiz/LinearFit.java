@@ -0,0 +1,53 @@
+package com.frugaltesting.quiz;
+
+/**
+ * Ordinary least-squares fit of y = intercept + slope * x.
+ */
+public final class LinearFit {
+
+    private final double slope;
+    private final double intercept;
+    private final double rSquared;
+
+    private LinearFit(double slope, double intercept, double rSquared) {
+        this.slope = slope;
+        this.intercept = intercept;
+        this.rSquared = rSquared;
+    }
+
+    public static LinearFit of(double[] x, double[] y) {
+        int n = Math.min(x.length, y.length);
+        if (n < 2) {
+            return new LinearFit(0, n == 1 ? y[0] : 0, 0);
+        }
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+
+        double sxx = 0;
+        double sxy = 0;
+        double syy = 0;
+        for (int i = 0; i < n; i++) {
+            double dx = x[i] - meanX;
+            double dy = y[i] - meanY;
+            sxx += dx * dx;
+            sxy += dx * dy;
+            syy += dy * dy;
+        }
+        if (sxx == 0) {
+            return new LinearFit(0, meanY, 0);
+        }
+        double slope = sxy / sxx;
+        double rSquared = syy == 0 ? 1 : (sxy * sxy) / (sxx * syy);
+        return new LinearFit(slope, meanY - slope * meanX, rSquared);
+    }
+
+    public double getSlope() { return slope; }
+    public double getIntercept() { return intercept; }
+    public double getRSquared() { return rSquared; }
+}
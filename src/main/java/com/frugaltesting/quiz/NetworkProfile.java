@@ -0,0 +1,61 @@
+package com.frugaltesting.quiz;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Network throttling presets applied through the DevTools protocol
+ * (Network.emulateNetworkConditions). Throughput is in bytes per second;
+ * the 3G values match Chrome DevTools' presets.
+ */
+public enum NetworkProfile {
+
+    NONE("none", 0, -1, -1),
+    CABLE("cable", 28, 5_000_000 / 8, 1_000_000 / 8),
+    FAST_3G("fast-3g", 562.5, 1_600_000 * 0.9 / 8, 750_000 * 0.9 / 8),
+    SLOW_3G("slow-3g", 2000, 500_000 * 0.8 / 8, 500_000 * 0.8 / 8);
+
+    private final String id;
+    private final double latencyMillis;
+    private final double downloadBytesPerSecond;
+    private final double uploadBytesPerSecond;
+
+    NetworkProfile(String id, double latencyMillis, double downloadBytesPerSecond, double uploadBytesPerSecond) {
+        this.id = id;
+        this.latencyMillis = latencyMillis;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Apply (or, for NONE, clear) the throttling on a DevTools-capable session.
+     */
+    public void apply(QuizAutomation automation) {
+        automation.executeCdpCommand("Network.enable", new HashMap<>());
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put("offline", false);
+        conditions.put("latency", latencyMillis);
+        conditions.put("downloadThroughput", downloadBytesPerSecond);
+        conditions.put("uploadThroughput", uploadBytesPerSecond);
+        automation.executeCdpCommand("Network.emulateNetworkConditions", conditions);
+    }
+
+    public static NetworkProfile fromProperty() {
+        String name = System.getProperty("quiz.network");
+        return name == null || name.isEmpty() ? NONE : fromId(name);
+    }
+
+    public static NetworkProfile fromId(String id) {
+        for (NetworkProfile profile : values()) {
+            if (profile.id.equals(id) || profile.name().equals(id.toUpperCase(Locale.ROOT))) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown network profile: " + id);
+    }
+}
@@ -0,0 +1,95 @@
+package com.frugaltesting.quiz;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Navigation Timing and Paint Timing entries of the last page load, all in
+ * milliseconds since navigation start. A paint that never happened is -1.
+ */
+public final class PageLoadTimings {
+
+    // Waits (in page) until the load event fired and first-contentful-paint was reported
+    static final String CAPTURE_SCRIPT =
+        "var timeoutMs = arguments[0], done = arguments[arguments.length - 1];" +
+        "var setT = window.__quizRealSetTimeout || setTimeout;" +
+        "var deadline = performance.now() + timeoutMs;" +
+        "function collect() {" +
+        "  var nav = performance.getEntriesByType('navigation')[0] || {};" +
+        "  var paints = {};" +
+        "  performance.getEntriesByType('paint').forEach(function(p) { paints[p.name] = p.startTime; });" +
+        "  return {" +
+        "    requestStart: nav.requestStart || 0, responseStart: nav.responseStart || 0," +
+        "    responseEnd: nav.responseEnd || 0," +
+        "    domContentLoaded: nav.domContentLoadedEventEnd || 0, load: nav.loadEventEnd || 0," +
+        "    transferSize: nav.transferSize || 0, encodedBodySize: nav.encodedBodySize || 0," +
+        "    decodedBodySize: nav.decodedBodySize || 0," +
+        "    firstPaint: 'first-paint' in paints ? paints['first-paint'] : -1," +
+        "    firstContentfulPaint: 'first-contentful-paint' in paints ? paints['first-contentful-paint'] : -1" +
+        "  };" +
+        "}" +
+        "(function poll() {" +
+        "  var t = collect();" +
+        "  if ((t.load > 0 && t.firstContentfulPaint >= 0) || performance.now() > deadline) { done(t); }" +
+        "  else { setT(poll, 25); }" +
+        "})();";
+
+    static final Duration CAPTURE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final double requestStart;
+    private final double timeToFirstByte;
+    private final double responseEnd;
+    private final double domContentLoaded;
+    private final double load;
+    private final double firstPaint;
+    private final double firstContentfulPaint;
+    private final long transferSize;
+    private final long encodedBodySize;
+    private final long decodedBodySize;
+
+    private PageLoadTimings(Map<?, ?> raw) {
+        requestStart = number(raw, "requestStart");
+        timeToFirstByte = number(raw, "responseStart");
+        responseEnd = number(raw, "responseEnd");
+        domContentLoaded = number(raw, "domContentLoaded");
+        load = number(raw, "load");
+        firstPaint = number(raw, "firstPaint");
+        firstContentfulPaint = number(raw, "firstContentfulPaint");
+        transferSize = (long) number(raw, "transferSize");
+        encodedBodySize = (long) number(raw, "encodedBodySize");
+        decodedBodySize = (long) number(raw, "decodedBodySize");
+    }
+
+    /**
+     * Wait for the load event and the first contentful paint, then read the
+     * entries in one async round trip.
+     */
+    public static PageLoadTimings capture(DomWaitEngine waits) {
+        Object raw = waits.executeAsync(CAPTURE_SCRIPT, CAPTURE_TIMEOUT, CAPTURE_TIMEOUT.toMillis());
+        if (!(raw instanceof Map)) {
+            throw new IllegalStateException("Timing script returned " + raw);
+        }
+        return new PageLoadTimings((Map<?, ?>) raw);
+    }
+
+    private static double number(Map<?, ?> raw, String key) {
+        Object value = raw.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    public double getRequestStart() { return requestStart; }
+    public double getTimeToFirstByte() { return timeToFirstByte; }
+    public double getResponseEnd() { return responseEnd; }
+    public double getDomContentLoaded() { return domContentLoaded; }
+    public double getLoad() { return load; }
+    public double getFirstPaint() { return firstPaint; }
+    public double getFirstContentfulPaint() { return firstContentfulPaint; }
+    public long getTransferSize() { return transferSize; }
+    public long getEncodedBodySize() { return encodedBodySize; }
+    public long getDecodedBodySize() { return decodedBodySize; }
+
+    /** Server think time plus network latency: responseStart - requestStart. */
+    public double getServerWait() {
+        return timeToFirstByte - requestStart;
+    }
+}
@@ -0,0 +1,171 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Base for the screen page objects. Element handles are looked up by id on
+ * first use and then reused until the page is invalidated (a screen
+ * transition) or the handle goes stale, so repeated reads of the same
+ * element cost one findElement instead of one per access.
+ */
+public abstract class PageObject {
+
+    // Finds and checks every listed id in one round trip. The result is a list (visibility flags first,
+    // then one handle or null per id) because the decorator wraps elements inside a returned list but
+    // not inside a returned map, and unwrapped handles would bypass the command listeners
+    private static final String PRESENCE_SCRIPT =
+        "var ids = arguments[0];" +
+        "var elements = ids.map(function(id) { return document.getElementById(id); });" +
+        "var visible = elements.map(function(el) {" +
+        "  return !!el && el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';" +
+        "});" +
+        "return [visible].concat(elements);";
+
+    /**
+     * Outcome of the presence check for one element.
+     */
+    public static class Presence {
+        private final String id;
+        private final String description;
+        private final boolean found;
+        private final boolean visible;
+
+        Presence(String id, String description, boolean found, boolean visible) {
+            this.id = id;
+            this.description = description;
+            this.found = found;
+            this.visible = visible;
+        }
+
+        public String getId() { return id; }
+        public String getDescription() { return description; }
+        public boolean isFound() { return found; }
+        public boolean isVisible() { return visible; }
+    }
+
+    private final WebDriver driver;
+    private final String name;
+    private final Map<String, String> requiredElements = new LinkedHashMap<>();
+    private final Map<String, WebElement> cache = new HashMap<>();
+    private int hits;
+    private int misses;
+    private int staleRefreshes;
+    private int presenceChecks;
+    private int batchedLookups;
+
+    protected PageObject(WebDriver driver, String name) {
+        this.driver = driver;
+        this.name = name;
+    }
+
+    /**
+     * Declare an element the screen must show; used by {@link #verifyPresence()}.
+     */
+    protected void require(String id, String description) {
+        requiredElements.put(id, description);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    protected WebElement element(String id) {
+        WebElement element = cache.get(id);
+        if (element != null) {
+            hits++;
+            return element;
+        }
+        misses++;
+        element = driver.findElement(By.id(id));
+        cache.put(id, element);
+        return element;
+    }
+
+    /**
+     * Run an action on a cached element, looking it up again once if the
+     * handle has gone stale.
+     */
+    protected <T> T withElement(String id, Function<WebElement, T> action) {
+        try {
+            return action.apply(element(id));
+        } catch (StaleElementReferenceException e) {
+            cache.remove(id);
+            staleRefreshes++;
+            return action.apply(element(id));
+        }
+    }
+
+    /**
+     * Drop every cached handle; called when the app switches screens or the
+     * document is replaced.
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * Check all required elements of the screen in a single executeScript.
+     * The handles found are cached, so the accesses that follow are hits.
+     */
+    public List<Presence> verifyPresence() {
+        List<String> ids = new ArrayList<>(requiredElements.keySet());
+        List<?> state = (List<?>) ((JavascriptExecutor) driver).executeScript(PRESENCE_SCRIPT, ids);
+        List<?> visible = (List<?>) state.get(0);
+        List<Presence> presence = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            Object element = state.get(i + 1);
+            if (element instanceof WebElement) {
+                cache.put(id, (WebElement) element);
+            }
+            presence.add(new Presence(id, requiredElements.get(id), element instanceof WebElement,
+                Boolean.TRUE.equals(visible.get(i))));
+        }
+        presenceChecks++;
+        batchedLookups += ids.size();
+        return Collections.unmodifiableList(presence);
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getStaleRefreshes() {
+        return staleRefreshes;
+    }
+
+    public double getHitRate() {
+        int lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * WebDriver commands avoided: one findElement per cache hit, and for each
+     * batched presence check the findElement and isDisplayed per element
+     * that a one-by-one check would send, minus the single script call.
+     */
+    public int getRoundTripsSaved() {
+        return hits + 2 * batchedLookups - presenceChecks;
+    }
+
+    public String describeCache() {
+        return String.format("%s page: %d/%d lookups cached (%.0f%%), %d stale refreshes, %d round trips saved",
+            name, hits, hits + misses, getHitRate() * 100, staleRefreshes, getRoundTripsSaved());
+    }
+}
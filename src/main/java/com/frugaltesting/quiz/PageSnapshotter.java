@@ -0,0 +1,131 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the whole quiz or results state in one executeScript round trip
+ * instead of one WebDriver command per element.
+ */
+public class PageSnapshotter {
+
+    private static final String VISIBLE_FN =
+        "function visible(el) { return !!el && el.offsetParent !== null; }" +
+        "function text(id) { var el = document.getElementById(id); return el ? el.innerText.trim() : null; }" +
+        "var active = document.querySelector('.screen.active');";
+
+    private static final String QUIZ_SCRIPT = VISIBLE_FN +
+        "var options = Array.prototype.slice.call(document.querySelectorAll('#optionsContainer .option'));" +
+        "return {" +
+        "  activeScreen: active ? active.id : null," +
+        "  questionText: text('questionText')," +
+        "  options: options.map(function(o) { return o.innerText.trim(); })," +
+        "  optionElements: options," +
+        "  selectedIndex: options.findIndex(function(o) { return o.classList.contains('selected'); })," +
+        "  timer: text('timer')," +
+        "  currentQuestion: parseInt(text('currentQuestion'), 10) || 0," +
+        "  totalQuestions: parseInt(text('totalQuestions'), 10) || 0," +
+        "  previousVisible: visible(document.getElementById('prevBtn'))," +
+        "  nextVisible: visible(document.getElementById('nextBtn'))," +
+        "  submitVisible: visible(document.getElementById('submitBtn'))," +
+        "  nextButton: document.getElementById('nextBtn')" +
+        "};";
+
+    private static final String RESULTS_SCRIPT = VISIBLE_FN +
+        "var items = document.querySelectorAll('#detailedAnalysis .result-item');" +
+        "var restart = document.getElementById('restartBtn');" +
+        "return {" +
+        "  activeScreen: active ? active.id : null," +
+        "  totalScore: text('totalScore')," +
+        "  correctAnswers: text('correctAnswers')," +
+        "  wrongAnswers: text('wrongAnswers')," +
+        "  totalTime: text('totalTime')," +
+        "  items: Array.prototype.map.call(items, function(item) {" +
+        "    var q = item.querySelector('.result-question'), a = item.querySelector('.result-answer');" +
+        "    return {question: q ? q.innerText.trim() : '', answer: a ? a.innerText.trim() : ''," +
+        "            correct: item.classList.contains('correct')};" +
+        "  })," +
+        "  restartAvailable: visible(restart) && !restart.disabled" +
+        "};";
+
+    private final WebDriver driver;
+
+    public PageSnapshotter(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public QuizPageSnapshot captureQuiz() {
+        Map<?, ?> state = execute(QUIZ_SCRIPT);
+        List<WebElement> optionElements = new ArrayList<>();
+        for (Object element : asList(state.get("optionElements"))) {
+            optionElements.add((WebElement) element);
+        }
+        return new QuizPageSnapshot(
+            (String) state.get("activeScreen"),
+            asString(state.get("questionText")),
+            asStrings(state.get("options")),
+            optionElements,
+            asInt(state.get("selectedIndex")),
+            asString(state.get("timer")),
+            asInt(state.get("currentQuestion")),
+            asInt(state.get("totalQuestions")),
+            Boolean.TRUE.equals(state.get("previousVisible")),
+            Boolean.TRUE.equals(state.get("nextVisible")),
+            Boolean.TRUE.equals(state.get("submitVisible")),
+            (WebElement) state.get("nextButton"));
+    }
+
+    public ResultsPageSnapshot captureResults() {
+        Map<?, ?> state = execute(RESULTS_SCRIPT);
+        List<ResultsPageSnapshot.ResultItem> items = new ArrayList<>();
+        for (Object raw : asList(state.get("items"))) {
+            Map<?, ?> item = (Map<?, ?>) raw;
+            items.add(new ResultsPageSnapshot.ResultItem(
+                asString(item.get("question")),
+                asString(item.get("answer")),
+                Boolean.TRUE.equals(item.get("correct"))));
+        }
+        return new ResultsPageSnapshot(
+            (String) state.get("activeScreen"),
+            asString(state.get("totalScore")),
+            asString(state.get("correctAnswers")),
+            asString(state.get("wrongAnswers")),
+            asString(state.get("totalTime")),
+            items,
+            Boolean.TRUE.equals(state.get("restartAvailable")));
+    }
+
+    private Map<?, ?> execute(String script) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(script);
+        if (!(raw instanceof Map)) {
+            throw new IllegalStateException("Snapshot script returned " + raw);
+        }
+        return (Map<?, ?>) raw;
+    }
+
+    private static List<?> asList(Object value) {
+        return value instanceof List ? (List<?>) value : Collections.emptyList();
+    }
+
+    private static List<String> asStrings(Object value) {
+        List<String> strings = new ArrayList<>();
+        for (Object item : asList(value)) {
+            strings.add(asString(item));
+        }
+        return strings;
+    }
+
+    private static String asString(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static int asInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : -1;
+    }
+}
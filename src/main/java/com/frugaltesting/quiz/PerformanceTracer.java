@@ -0,0 +1,257 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a Chrome performance trace (DevTools Tracing domain) around one UI
+ * transition and breaks the renderer main thread's work down into
+ * scripting, style, layout and paint time, the way the DevTools Performance
+ * panel does: each trace event contributes its self time (duration minus
+ * nested events) to the category of its name.
+ */
+public class PerformanceTracer {
+
+    static final double FRAME_BUDGET_MILLIS = 16.0;
+
+    private static final List<String> TRACE_CATEGORIES = Arrays.asList(
+        "toplevel", "devtools.timeline", "disabled-by-default-devtools.timeline", "v8.execute", "blink.user_timing");
+    private static final long COLLECT_TIMEOUT_SECONDS = 10;
+
+    // One tracer per browser session, so pooled sessions do not stack up Tracing listeners
+    private static final Map<WebDriver, PerformanceTracer> TRACERS = new WeakHashMap<>();
+
+    private static final Set<String> SCRIPTING = new HashSet<>(Arrays.asList(
+        "EvaluateScript", "FunctionCall", "EventDispatch", "TimerFire", "FireAnimationFrame",
+        "RunMicrotasks", "V8.Execute", "v8.compile", "v8.run", "XHRReadyStateChange", "GCEvent", "MajorGC", "MinorGC"));
+    private static final Set<String> STYLE = new HashSet<>(Arrays.asList(
+        "UpdateLayoutTree", "RecalculateStyles", "ParseAuthorStyleSheet", "ScheduleStyleRecalculation"));
+    private static final Set<String> LAYOUT = new HashSet<>(Arrays.asList(
+        "Layout", "UpdateLayerTree", "PrePaint", "HitTest", "InvalidateLayout"));
+    private static final Set<String> PAINT = new HashSet<>(Arrays.asList(
+        "Paint", "PaintImage", "CompositeLayers", "Layerize", "Commit", "Decode Image", "RasterTask"));
+
+    /**
+     * Main-thread cost of one traced transition, in milliseconds.
+     */
+    public static final class TransitionProfile {
+        private final String label;
+        private final double scriptingMillis;
+        private final double styleMillis;
+        private final double layoutMillis;
+        private final double paintMillis;
+        private final double longestTaskMillis;
+        private final int eventCount;
+
+        TransitionProfile(String label, double scriptingMillis, double styleMillis, double layoutMillis,
+                          double paintMillis, double longestTaskMillis, int eventCount) {
+            this.label = label;
+            this.scriptingMillis = scriptingMillis;
+            this.styleMillis = styleMillis;
+            this.layoutMillis = layoutMillis;
+            this.paintMillis = paintMillis;
+            this.longestTaskMillis = longestTaskMillis;
+            this.eventCount = eventCount;
+        }
+
+        public String getLabel() { return label; }
+        public double getScriptingMillis() { return scriptingMillis; }
+        public double getStyleMillis() { return styleMillis; }
+        public double getLayoutMillis() { return layoutMillis; }
+        public double getPaintMillis() { return paintMillis; }
+        public double getLongestTaskMillis() { return longestTaskMillis; }
+        public int getEventCount() { return eventCount; }
+
+        public double getTotalMillis() {
+            return scriptingMillis + styleMillis + layoutMillis + paintMillis;
+        }
+
+        /** True when no single main-thread task (or, without task events, the whole transition) exceeded one frame. */
+        public boolean isWithinFrameBudget() {
+            double worst = longestTaskMillis > 0 ? longestTaskMillis : getTotalMillis();
+            return worst <= FRAME_BUDGET_MILLIS;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: scripting %.2f ms, style %.2f ms, layout %.2f ms, paint %.2f ms, longest task %.2f ms",
+                label, scriptingMillis, styleMillis, layoutMillis, paintMillis, longestTaskMillis);
+        }
+    }
+
+    private final DevTools devTools;
+    private volatile List<Map<String, Object>> collected;
+    private volatile CountDownLatch complete;
+
+    private PerformanceTracer(WebDriver rawDriver) {
+        if (!(rawDriver instanceof HasDevTools)) {
+            throw new UnsupportedOperationException("Browser session does not expose the DevTools protocol");
+        }
+        devTools = ((HasDevTools) rawDriver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(new Event<>("Tracing.dataCollected", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+            this::onDataCollected);
+        devTools.addListener(new Event<>("Tracing.tracingComplete", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+            params -> complete.countDown());
+    }
+
+    /**
+     * The tracer of a session; created, and its listeners registered, on
+     * first use.
+     */
+    public static PerformanceTracer forSession(WebDriver rawDriver) {
+        synchronized (TRACERS) {
+            return TRACERS.computeIfAbsent(rawDriver, PerformanceTracer::new);
+        }
+    }
+
+    /**
+     * Start recording. Every start must be followed by {@link #stop}.
+     */
+    public void start() {
+        collected = new ArrayList<>();
+        complete = new CountDownLatch(1);
+        Map<String, Object> traceConfig = new HashMap<>();
+        traceConfig.put("recordMode", "recordUntilFull");
+        traceConfig.put("includedCategories", TRACE_CATEGORIES);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("transferMode", "ReportEvents");
+        parameters.put("traceConfig", traceConfig);
+        devTools.send(new Command<Void>("Tracing.start", parameters));
+    }
+
+    /**
+     * Stop recording, wait for the buffered events and summarise them.
+     */
+    public TransitionProfile stop(String label) {
+        devTools.send(new Command<Void>("Tracing.end", new HashMap<>()));
+        try {
+            if (!complete.await(COLLECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Trace data for " + label + " not delivered within "
+                    + COLLECT_TIMEOUT_SECONDS + " s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while collecting trace for " + label, e);
+        }
+        List<Map<String, Object>> events;
+        synchronized (this) {
+            events = collected;
+        }
+        return summarize(label, events);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onDataCollected(Map<String, Object> params) {
+        Object value = params.get("value");
+        if (value instanceof List) {
+            synchronized (this) {
+                for (Object event : (List<Object>) value) {
+                    if (event instanceof Map) {
+                        collected.add((Map<String, Object>) event);
+                    }
+                }
+            }
+        }
+    }
+
+    // A complete ("X") event on one thread, with its self time once children are subtracted
+    private static final class Slice {
+        final String name;
+        final long start;
+        final long end;
+        long selfMicros;
+
+        Slice(String name, long start, long duration) {
+            this.name = name;
+            this.start = start;
+            this.end = start + duration;
+            this.selfMicros = duration;
+        }
+    }
+
+    static TransitionProfile summarize(String label, List<Map<String, Object>> events) {
+        Set<String> mainThreads = rendererMainThreads(events);
+        Map<String, List<Slice>> slicesByThread = new HashMap<>();
+        for (Map<String, Object> event : events) {
+            if (!"X".equals(event.get("ph")) || !(event.get("dur") instanceof Number)) {
+                continue;
+            }
+            String thread = event.get("pid") + ":" + event.get("tid");
+            if (!mainThreads.isEmpty() && !mainThreads.contains(thread)) {
+                continue;
+            }
+            slicesByThread.computeIfAbsent(thread, key -> new ArrayList<>()).add(new Slice(
+                String.valueOf(event.get("name")), ((Number) event.get("ts")).longValue(), ((Number) event.get("dur")).longValue()));
+        }
+
+        long scripting = 0;
+        long style = 0;
+        long layout = 0;
+        long paint = 0;
+        long longestTask = 0;
+        int count = 0;
+        for (List<Slice> slices : slicesByThread.values()) {
+            // Parents sort before their children: earlier start first, longer slice first on ties
+            slices.sort(Comparator.<Slice>comparingLong(slice -> slice.start).thenComparingLong(slice -> -slice.end));
+            Deque<Slice> open = new ArrayDeque<>();
+            for (Slice slice : slices) {
+                while (!open.isEmpty() && open.peek().end <= slice.start) {
+                    open.pop();
+                }
+                if (!open.isEmpty()) {
+                    open.peek().selfMicros -= slice.end - slice.start;
+                }
+                open.push(slice);
+            }
+            for (Slice slice : slices) {
+                count++;
+                if ("RunTask".equals(slice.name) || "ThreadControllerImpl::RunTask".equals(slice.name)) {
+                    longestTask = Math.max(longestTask, slice.end - slice.start);
+                } else if (SCRIPTING.contains(slice.name)) {
+                    scripting += slice.selfMicros;
+                } else if (STYLE.contains(slice.name)) {
+                    style += slice.selfMicros;
+                } else if (LAYOUT.contains(slice.name)) {
+                    layout += slice.selfMicros;
+                } else if (PAINT.contains(slice.name)) {
+                    paint += slice.selfMicros;
+                }
+            }
+        }
+        return new TransitionProfile(label, scripting / 1000.0, style / 1000.0, layout / 1000.0,
+            paint / 1000.0, longestTask / 1000.0, count);
+    }
+
+    // Thread-name metadata identifies the renderer main thread(s); other threads do not block frames
+    @SuppressWarnings("unchecked")
+    private static Set<String> rendererMainThreads(List<Map<String, Object>> events) {
+        Set<String> threads = new HashSet<>();
+        for (Map<String, Object> event : events) {
+            if ("M".equals(event.get("ph")) && "thread_name".equals(event.get("name"))
+                    && event.get("args") instanceof Map
+                    && "CrRendererMain".equals(((Map<String, Object>) event.get("args")).get("name"))) {
+                threads.add(event.get("pid") + ":" + event.get("tid"));
+            }
+        }
+        return threads;
+    }
+}
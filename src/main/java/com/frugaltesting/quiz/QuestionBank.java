@@ -0,0 +1,154 @@
+package com.frugaltesting.quiz;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The quizData object from index.html, parsed once and indexed by category
+ * and difficulty. Loaded banks are cached per file and re-parsed only when
+ * the file's SHA-256 content hash changes.
+ */
+public final class QuestionBank {
+
+    static final Path DEFAULT_HTML = Paths.get(System.getProperty("quiz.html", "index.html"));
+
+    private static final Map<Path, QuestionBank> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * One question with its options and the index of the correct option.
+     */
+    public static final class Question {
+        private final String text;
+        private final List<String> options;
+        private final int correct;
+
+        Question(String text, List<String> options, int correct) {
+            this.text = text;
+            this.options = Collections.unmodifiableList(new ArrayList<>(options));
+            this.correct = correct;
+        }
+
+        public String getText() { return text; }
+        public List<String> getOptions() { return options; }
+        public int getCorrect() { return correct; }
+    }
+
+    private final String contentHash;
+    private final Map<String, Map<String, List<Question>>> index;
+
+    private QuestionBank(String contentHash, Map<String, Map<String, List<Question>>> index) {
+        this.contentHash = contentHash;
+        this.index = index;
+    }
+
+    public static QuestionBank load() throws IOException {
+        return load(DEFAULT_HTML);
+    }
+
+    /**
+     * Return the cached bank for the file, parsing it again only if its
+     * content hash no longer matches.
+     */
+    public static QuestionBank load(Path html) throws IOException {
+        byte[] content = Files.readAllBytes(html);
+        String hash = sha256(content);
+        Path key = html.toAbsolutePath().normalize();
+        QuestionBank cached = CACHE.get(key);
+        if (cached != null && cached.contentHash.equals(hash)) {
+            return cached;
+        }
+        QuestionBank bank = parse(new String(content, StandardCharsets.UTF_8), hash);
+        CACHE.put(key, bank);
+        return bank;
+    }
+
+    static QuestionBank parse(String html, String contentHash) {
+        Object quizData = JsLiteralParser.parseAssignment(html, "quizData");
+        Map<String, Map<String, List<Question>>> index = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> category : asMap(quizData, "quizData").entrySet()) {
+            Map<String, List<Question>> byDifficulty = new LinkedHashMap<>();
+            for (Map.Entry<String, ?> difficulty : asMap(category.getValue(), category.getKey()).entrySet()) {
+                String where = category.getKey() + "/" + difficulty.getKey();
+                List<Question> questions = new ArrayList<>();
+                for (Object raw : asList(difficulty.getValue(), where)) {
+                    questions.add(toQuestion(asMap(raw, where), where + " question " + (questions.size() + 1)));
+                }
+                byDifficulty.put(difficulty.getKey(), Collections.unmodifiableList(questions));
+            }
+            index.put(category.getKey(), Collections.unmodifiableMap(byDifficulty));
+        }
+        return new QuestionBank(contentHash, Collections.unmodifiableMap(index));
+    }
+
+    private static Question toQuestion(Map<String, ?> raw, String where) {
+        List<String> options = new ArrayList<>();
+        for (Object option : asList(raw.get("options"), where + " options")) {
+            options.add(String.valueOf(option));
+        }
+        Object correct = raw.get("correct");
+        if (!(correct instanceof Number)) {
+            throw new IllegalArgumentException(where + " has no numeric 'correct' index");
+        }
+        return new Question(String.valueOf(raw.get("question")), options, ((Number) correct).intValue());
+    }
+
+    public List<Question> questions(String category, String difficulty) {
+        Map<String, List<Question>> byDifficulty = index.get(category);
+        List<Question> questions = byDifficulty == null ? null : byDifficulty.get(difficulty);
+        if (questions == null) {
+            throw new IllegalArgumentException("No questions for " + category + "/" + difficulty);
+        }
+        return questions;
+    }
+
+    public Set<String> categories() {
+        return index.keySet();
+    }
+
+    public Set<String> difficulties(String category) {
+        return index.getOrDefault(category, Collections.emptyMap()).keySet();
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ?> asMap(Object value, String where) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException(where + " is not an object");
+        }
+        return (Map<String, ?>) value;
+    }
+
+    private static List<?> asList(Object value, String where) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException(where + " is not an array");
+        }
+        return (List<?>) value;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.frugaltesting.quiz;
+
+import java.util.List;
+
+/**
+ * Java port of submitQuiz() scoring from index.html, used as the oracle for
+ * the totals the results page should render.
+ */
+public final class QuizEngine {
+
+    private QuizEngine() {
+    }
+
+    /**
+     * Expected results for one answer plan.
+     */
+    public static final class Score {
+        private final int correct;
+        private final int total;
+        private final boolean[] perQuestion;
+
+        Score(int correct, int total, boolean[] perQuestion) {
+            this.correct = correct;
+            this.total = total;
+            this.perQuestion = perQuestion;
+        }
+
+        public int getCorrect() { return correct; }
+        public int getWrong() { return total - correct; }
+        public int getTotal() { return total; }
+
+        public boolean isCorrect(int question) {
+            return perQuestion[question];
+        }
+
+        /** Formatted like #totalScore on the results page. */
+        public String getTotalScore() {
+            return correct + "/" + total;
+        }
+    }
+
+    /**
+     * Score answers the way submitQuiz() does: an answer counts only if it is
+     * exactly the correct option index; unanswered questions count as wrong.
+     */
+    public static Score score(List<QuestionBank.Question> questions, int[] answers) {
+        boolean[] perQuestion = new boolean[questions.size()];
+        int correct = 0;
+        for (int i = 0; i < perQuestion.length; i++) {
+            perQuestion[i] = i < answers.length && answers[i] == questions.get(i).getCorrect();
+            if (perQuestion[i]) {
+                correct++;
+            }
+        }
+        return new Score(correct, perQuestion.length, perQuestion);
+    }
+}
@@ -0,0 +1,259 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebDriver;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every category x difficulty combination of the quiz concurrently
+ * across a fixed-size pool of headless ChromeDriver sessions.
+ * Each combination gets its own QuizAutomation context (logs, screenshots)
+ * and the per-combination outcomes are merged into a single run log.
+ */
+public class QuizMatrixRunner {
+
+    static final String[] CATEGORIES = {"programming", "general", "science"};
+    static final String[] DIFFICULTIES = {"easy", "medium", "hard"};
+    static final int DEFAULT_POOL_SIZE =
+        Math.min(CATEGORIES.length * DIFFICULTIES.length, Runtime.getRuntime().availableProcessors());
+
+    private final int poolSize;
+    private final LaunchProfile profile = LaunchProfile.fromProperty(LaunchProfile.HEADLESS_FAST);
+    private final BlockingQueue<WebDriver> idleDrivers = new LinkedBlockingQueue<>();
+
+    public QuizMatrixRunner(int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    /**
+     * Outcome of a single category/difficulty combination.
+     */
+    public static class MatrixResult {
+        private final String category;
+        private final String difficulty;
+        private final String scenario;
+        private final boolean passed;
+        private final long durationMillis;
+        private final String failure;
+        private final Path logFile;
+        private final List<String> logTail;
+
+        MatrixResult(String category, String difficulty, boolean passed, long durationMillis,
+                     String failure, Path logFile, List<String> logTail) {
+            this(category, difficulty, null, passed, durationMillis, failure, logFile, logTail);
+        }
+
+        MatrixResult(String category, String difficulty, String scenario, boolean passed, long durationMillis,
+                     String failure, Path logFile, List<String> logTail) {
+            this.category = category;
+            this.difficulty = difficulty;
+            this.scenario = scenario;
+            this.passed = passed;
+            this.durationMillis = durationMillis;
+            this.failure = failure;
+            this.logFile = logFile;
+            this.logTail = logTail;
+        }
+
+        public String getCategory() { return category; }
+        public String getDifficulty() { return difficulty; }
+        public String getScenario() { return scenario; }
+        public boolean isPassed() { return passed; }
+        public long getDurationMillis() { return durationMillis; }
+        public String getFailure() { return failure; }
+        public Path getLogFile() { return logFile; }
+        public List<String> getLogTail() { return logTail; }
+
+        public String getLabel() {
+            return category + "/" + difficulty + (scenario == null ? "" : "/" + scenario);
+        }
+    }
+
+    /**
+     * Run the full matrix and write the merged execution log.
+     *
+     * @return true when every combination passed
+     */
+    public boolean run(String quizURL) {
+        List<String[]> combinations = new ArrayList<>();
+        for (String category : CATEGORIES) {
+            for (String difficulty : DIFFICULTIES) {
+                combinations.add(new String[]{category, difficulty});
+            }
+        }
+
+        System.out.println("🧮 Running " + combinations.size() + " combinations on " + poolSize + " browser sessions");
+        long wallStart = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(poolSize);
+        List<Future<MatrixResult>> futures = new ArrayList<>();
+        for (String[] combination : combinations) {
+            futures.add(workers.submit(() -> runCombination(combination[0], combination[1], quizURL)));
+        }
+
+        List<MatrixResult> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (Exception e) {
+                    String[] combination = combinations.get(i);
+                    results.add(new MatrixResult(combination[0], combination[1], false, 0,
+                        "Worker crashed: " + e.getMessage(), null, new ArrayList<>()));
+                }
+            }
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            shutdownPool();
+        }
+
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStart);
+        writeMergedLog("matrix", poolSize + " (Chrome, " + profile.getId() + " profile)", results, wallMillis);
+        return results.stream().allMatch(MatrixResult::isPassed);
+    }
+
+    private MatrixResult runCombination(String category, String difficulty, String quizURL) {
+        String folder = "test-screenshots/" + category + "_" + difficulty + "/";
+        QuizAutomation context = new QuizAutomation(category, difficulty, folder);
+        long start = System.nanoTime();
+        WebDriver driver = null;
+        boolean passed = false;
+        String failure = null;
+
+        try {
+            driver = borrowDriver();
+            context.attachDriver(driver);
+            context.runAllSteps(quizURL);
+            passed = true;
+        } catch (Exception e) {
+            failure = e.getMessage();
+            context.log(StructuredLogger.Level.ERROR, "Critical Error: " + failure);
+        } finally {
+            context.recordRunHistory();
+            context.cleanup();
+            if (driver != null) {
+                if (passed) {
+                    idleDrivers.offer(driver);
+                } else {
+                    // A failed combination may leave the session unusable; replace it
+                    quitQuietly(driver);
+                }
+            }
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println((passed ? "✅ " : "❌ ") + category + "/" + difficulty + " finished in " + durationMillis + " ms");
+        StructuredLogger logger = context.getLogger();
+        return new MatrixResult(category, difficulty, passed, durationMillis, failure,
+            logger.getLogFile(), logger.getTail());
+    }
+
+    // The executor never runs more than poolSize tasks, so the fleet never exceeds poolSize sessions
+    private WebDriver borrowDriver() {
+        WebDriver driver = idleDrivers.poll();
+        if (driver == null) {
+            driver = BrowserLauncher.launch(profile, System.out::println);
+        }
+        return driver;
+    }
+
+    private void shutdownPool() {
+        WebDriver driver;
+        while ((driver = idleDrivers.poll()) != null) {
+            quitQuietly(driver);
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            BrowserLauncher.quit(driver);
+        } catch (Exception e) {
+            System.out.println("⚠️ Error closing pooled WebDriver: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write one log holding every result's summary line and full log, in
+     * result order. Shared by the matrix and the sharded runner.
+     */
+    static void writeMergedLog(String kind, String sessions, List<MatrixResult> results, long wallMillis) {
+        long summedMillis = results.stream().mapToLong(MatrixResult::getDurationMillis).sum();
+        long slowestMillis = results.stream().mapToLong(MatrixResult::getDurationMillis).max().orElse(0);
+        long passedCount = results.stream().filter(MatrixResult::isPassed).count();
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String logFileName = "test_execution_logs_" + kind + "_" + timestamp + ".txt";
+        String title = kind.toUpperCase(Locale.ROOT);
+
+        try (FileWriter writer = new FileWriter(logFileName)) {
+            writer.write("QUIZ AUTOMATION " + title + " EXECUTION LOG\n");
+            writer.write("================================\n");
+            writer.write("Generated: " + LocalDateTime.now() + "\n");
+            writer.write("Browser sessions: " + sessions + "\n");
+            writer.write("Combinations: " + results.size() + " (" + passedCount + " passed)\n");
+            writer.write("Wall-clock: " + wallMillis + " ms (slowest combination " + slowestMillis
+                + " ms, sequential sum " + summedMillis + " ms)\n");
+            writer.write("================================\n\n");
+
+            for (MatrixResult result : results) {
+                writer.write(String.format("%-22s %-8s %8d ms%s%n", result.getLabel(),
+                    result.isPassed() ? "PASSED" : "FAILED", result.getDurationMillis(),
+                    result.getFailure() == null ? "" : "  " + result.getFailure()));
+            }
+
+            for (MatrixResult result : results) {
+                writer.write("\n--------------------------------\n");
+                writer.write("COMBINATION: " + result.getLabel() + "\n");
+                writer.write("--------------------------------\n");
+                if (result.getLogFile() != null) {
+                    StructuredLogger.forEachEntry(result.getLogFile(), entry -> {
+                        try {
+                            writer.write(entry.toDisplayLine() + "\n");
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+
+            writer.write("\n================================\n");
+            writer.write("END OF " + title + " EXECUTION LOG\n");
+            System.out.println("📝 " + capitalize(kind) + " logs saved: " + logFileName);
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("❌ Failed to save " + kind + " logs: " + e.getMessage());
+        }
+
+        for (MatrixResult result : results) {
+            if (!result.isPassed() && !result.getLogTail().isEmpty()) {
+                System.out.println("\n--- Last log lines of " + result.getLabel() + " ---");
+                int from = Math.max(0, result.getLogTail().size() - 10);
+                result.getLogTail().subList(from, result.getLogTail().size()).forEach(System.out::println);
+            }
+        }
+
+        System.out.println("⏱️ " + capitalize(kind) + " wall-clock " + wallMillis + " ms vs sequential " + summedMillis + " ms");
+    }
+
+    private static String capitalize(String word) {
+        return word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
+    }
+}
@@ -0,0 +1,156 @@
+package com.frugaltesting.quiz;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Browser-free scoring checks over the whole question bank. Every
+ * category/difficulty is scored with the all-correct, all-wrong, seeded
+ * random and exhaustive answer plans; the exhaustive score distribution is
+ * checked against its closed form. Optionally a few plans per combination
+ * are injected into a real browser to confirm the page renders the same
+ * totals.
+ */
+public class QuizOracle {
+
+    static final int DEFAULT_RANDOM_PLANS = 1000;
+
+    private final int randomPlans;
+    private final int browserSamples;
+    private long cases;
+    private final List<String> failures = new ArrayList<>();
+
+    public QuizOracle(int randomPlans, int browserSamples) {
+        this.randomPlans = Math.max(0, randomPlans);
+        this.browserSamples = Math.max(0, browserSamples);
+    }
+
+    /**
+     * @return true when every scoring case and rendered sample matched
+     */
+    public boolean run(String quizURL) throws IOException {
+        long loadStart = System.nanoTime();
+        QuestionBank bank = QuestionBank.load();
+        long parseNanos = System.nanoTime() - loadStart;
+        long cachedStart = System.nanoTime();
+        QuestionBank.load();
+        long cachedNanos = System.nanoTime() - cachedStart;
+        System.out.printf("📚 Question bank %s… parsed in %.2f ms, cached reload %.2f ms%n",
+            bank.getContentHash().substring(0, 12), parseNanos / 1e6, cachedNanos / 1e6);
+
+        long start = System.nanoTime();
+        for (String category : bank.categories()) {
+            for (String difficulty : bank.difficulties(category)) {
+                checkCombination(category + "/" + difficulty, bank.questions(category, difficulty));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("🧮 %d scoring cases in %.1f ms (%.2f µs per case)%n",
+            cases, elapsed / 1e6, cases == 0 ? 0 : elapsed / 1e3 / cases);
+
+        if (browserSamples > 0) {
+            confirmInBrowser(bank, quizURL);
+        }
+
+        failures.forEach(failure -> System.out.println("❌ " + failure));
+        return failures.isEmpty();
+    }
+
+    private void checkCombination(String name, List<QuestionBank.Question> questions) {
+        int total = questions.size();
+        expect(name, "all-correct", QuizEngine.score(questions, AnswerPlan.allCorrect().answersFor(questions)).getCorrect(), total);
+        expect(name, "all-wrong", QuizEngine.score(questions, AnswerPlan.allWrong().answersFor(questions)).getCorrect(), 0);
+
+        for (int seed = 1; seed <= randomPlans; seed++) {
+            AnswerPlan plan = AnswerPlan.seededRandom(seed);
+            int[] answers = plan.answersFor(questions);
+            if (!Arrays.equals(answers, plan.answersFor(questions))) {
+                failures.add(name + " " + plan.getName() + " is not reproducible");
+            }
+            QuizEngine.Score score = QuizEngine.score(questions, answers);
+            int matches = 0;
+            for (int i = 0; i < total; i++) {
+                boolean match = i < answers.length && answers[i] == questions.get(i).getCorrect();
+                if (match) {
+                    matches++;
+                }
+                if (score.isCorrect(i) != match) {
+                    failures.add(name + " " + plan.getName() + " marks question " + (i + 1)
+                        + (match ? " wrong" : " correct") + " for answer " + answers[i]);
+                }
+            }
+            if (score.getCorrect() != matches) {
+                failures.add(name + " " + plan.getName() + " scored " + score.getTotalScore()
+                    + ", recount gives " + matches + "/" + total);
+            }
+            cases++;
+        }
+
+        // Exhaustive: the number of plans with k correct answers is the x^k coefficient of
+        // the product over questions of (x + wrongChoices), where unanswered is one more wrong choice
+        long[] observed = new long[total + 1];
+        for (int[] answers : AnswerPlan.exhaustive(questions, true)) {
+            observed[QuizEngine.score(questions, answers).getCorrect()]++;
+            cases++;
+        }
+        long[] expected = {1};
+        for (QuestionBank.Question question : questions) {
+            long wrongChoices = question.getOptions().size();
+            long[] next = new long[expected.length + 1];
+            for (int k = 0; k < expected.length; k++) {
+                next[k] += expected[k] * wrongChoices;
+                next[k + 1] += expected[k];
+            }
+            expected = next;
+        }
+        if (!Arrays.equals(observed, expected)) {
+            failures.add(name + " exhaustive distribution " + Arrays.toString(observed)
+                + " != " + Arrays.toString(expected));
+        }
+        System.out.println("✅ " + name + ": " + total + " questions, score distribution " + Arrays.toString(observed));
+    }
+
+    private void expect(String name, String plan, int actual, int expected) {
+        cases++;
+        if (actual != expected) {
+            failures.add(name + " " + plan + " scored " + actual + ", expected " + expected);
+        }
+    }
+
+    // Inject a few plans per combination as results states and let step 5 compare the rendering
+    private void confirmInBrowser(QuestionBank bank, String quizURL) {
+        QuizAutomation automation = new QuizAutomation();
+        int rendered = 0;
+        try {
+            automation.initializeDriver();
+            automation.openQuizPage(quizURL);
+            for (String category : bank.categories()) {
+                for (String difficulty : bank.difficulties(category)) {
+                    List<QuestionBank.Question> questions = bank.questions(category, difficulty);
+                    List<AnswerPlan> plans = new ArrayList<>(Arrays.asList(AnswerPlan.allCorrect(), AnswerPlan.allWrong()));
+                    for (int seed = 1; plans.size() < browserSamples; seed++) {
+                        plans.add(AnswerPlan.seededRandom(seed));
+                    }
+                    for (AnswerPlan plan : plans.subList(0, Math.min(plans.size(), browserSamples))) {
+                        automation.injectState(QuizState.results(category, difficulty, 0, plan.answersFor(questions)));
+                        try {
+                            automation.step5_VerifyResults();
+                            rendered++;
+                        } catch (RuntimeException e) {
+                            failures.add(category + "/" + difficulty + " " + plan.getName() + " rendered differently: "
+                                + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+                        }
+                    }
+                }
+            }
+            System.out.println("🖥️ " + rendered + " rendered result page(s) matched the engine");
+            automation.generateTestReport();
+        } catch (Exception e) {
+            failures.add("Browser confirmation aborted: " + e.getMessage());
+        } finally {
+            automation.cleanup();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The #quizPage screen. Per-question state (options, navigation buttons) is
+ * read through {@link PageSnapshotter}; this object covers the elements that
+ * stay in place for the whole quiz.
+ */
+public class QuizPage extends PageObject {
+
+    public QuizPage(WebDriver driver) {
+        super(driver, "quiz");
+        require("timer", "Timer Display");
+        require("questionText", "Question Text Area");
+        require("optionsContainer", "Options Container");
+    }
+
+    public String getQuestionText() {
+        return withElement("questionText", WebElement::getText);
+    }
+
+    public String getTimerText() {
+        return withElement("timer", WebElement::getText);
+    }
+}
@@ -0,0 +1,62 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of the quiz screen captured in a single executeScript call.
+ * Option and Next button handles are kept so the steps can still click the
+ * real elements without looking them up again.
+ */
+public final class QuizPageSnapshot {
+
+    private final String activeScreen;
+    private final String questionText;
+    private final List<String> options;
+    private final List<WebElement> optionElements;
+    private final int selectedIndex;
+    private final String timerText;
+    private final int currentQuestion;
+    private final int totalQuestions;
+    private final boolean previousVisible;
+    private final boolean nextVisible;
+    private final boolean submitVisible;
+    private final WebElement nextButton;
+
+    QuizPageSnapshot(String activeScreen, String questionText, List<String> options,
+                     List<WebElement> optionElements, int selectedIndex, String timerText,
+                     int currentQuestion, int totalQuestions, boolean previousVisible,
+                     boolean nextVisible, boolean submitVisible, WebElement nextButton) {
+        this.activeScreen = activeScreen;
+        this.questionText = questionText;
+        this.options = Collections.unmodifiableList(options);
+        this.optionElements = Collections.unmodifiableList(optionElements);
+        this.selectedIndex = selectedIndex;
+        this.timerText = timerText;
+        this.currentQuestion = currentQuestion;
+        this.totalQuestions = totalQuestions;
+        this.previousVisible = previousVisible;
+        this.nextVisible = nextVisible;
+        this.submitVisible = submitVisible;
+        this.nextButton = nextButton;
+    }
+
+    public String getActiveScreen() { return activeScreen; }
+    public String getQuestionText() { return questionText; }
+    public List<String> getOptions() { return options; }
+    public List<WebElement> getOptionElements() { return optionElements; }
+    public int getSelectedIndex() { return selectedIndex; }
+    public String getTimerText() { return timerText; }
+    public int getCurrentQuestion() { return currentQuestion; }
+    public int getTotalQuestions() { return totalQuestions; }
+    public boolean isPreviousVisible() { return previousVisible; }
+    public boolean isNextVisible() { return nextVisible; }
+    public boolean isSubmitVisible() { return submitVisible; }
+    public WebElement getNextButton() { return nextButton; }
+
+    public boolean isLastQuestion() {
+        return totalQuestions > 0 && currentQuestion == totalQuestions;
+    }
+}
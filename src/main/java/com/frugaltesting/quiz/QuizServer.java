@@ -0,0 +1,288 @@
+package com.frugaltesting.quiz;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded static file server for the quiz app, so runs load it over HTTP
+ * instead of file://. Gzip, cache headers and an artificial per-request
+ * latency and bandwidth limit are configurable:
+ *
+ * <pre>
+ *   -Dquiz.server.port=0             0 picks a free port
+ *   -Dquiz.server.gzip=true          gzip text responses when the browser accepts it
+ *   -Dquiz.server.cacheSeconds=0     0 sends no-cache (with ETag revalidation)
+ *   -Dquiz.server.latencyMs=0        delay before the response headers
+ *   -Dquiz.server.bandwidthKbps=0    0 is unlimited
+ *   -Dquiz.server.bind=0.0.0.0       listen address; loopback by default
+ *   -Dquiz.server.publicHost=host    host name put into URLs, for browsers on other machines
+ * </pre>
+ *
+ * On loopback the whole project directory is served. Bound to any other
+ * address, only the quiz page is, so .git, logs and the run history are
+ * not published to the network.
+ */
+public class QuizServer implements AutoCloseable {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "html", "text/html; charset=utf-8",
+        "js", "application/javascript; charset=utf-8",
+        "css", "text/css; charset=utf-8",
+        "json", "application/json; charset=utf-8",
+        "svg", "image/svg+xml",
+        "png", "image/png",
+        "ico", "image/x-icon");
+
+    // Chunk size used when a bandwidth limit is set; small enough for smooth pacing
+    private static final int THROTTLE_CHUNK = 4096;
+
+    private final Path root;
+    private final boolean gzip;
+    private final int cacheSeconds;
+    private final long latencyMillis;
+    private final long bytesPerSecond;
+    private final String publicHost;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Path, CachedFile> files = new ConcurrentHashMap<>();
+    private volatile Set<Path> exposedFiles; // null serves everything under root
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    // File contents kept in memory (raw and pre-compressed) until the file changes
+    private static final class CachedFile {
+        final long modified;
+        final byte[] raw;
+        final byte[] gzipped;
+        final String etag;
+
+        CachedFile(long modified, byte[] raw, byte[] gzipped, String etag) {
+            this.modified = modified;
+            this.raw = raw;
+            this.gzipped = gzipped;
+            this.etag = etag;
+        }
+    }
+
+    public QuizServer(Path root, int port, boolean gzip, int cacheSeconds, long latencyMillis, long bandwidthKbps)
+            throws IOException {
+        this(root, InetAddress.getLoopbackAddress(), "127.0.0.1", port, gzip, cacheSeconds, latencyMillis, bandwidthKbps);
+    }
+
+    public QuizServer(Path root, InetAddress bindAddress, String publicHost, int port, boolean gzip, int cacheSeconds,
+                      long latencyMillis, long bandwidthKbps) throws IOException {
+        this.publicHost = publicHost;
+        this.root = root.toAbsolutePath().normalize();
+        this.gzip = gzip;
+        this.cacheSeconds = cacheSeconds;
+        this.latencyMillis = latencyMillis;
+        this.bytesPerSecond = bandwidthKbps * 1000 / 8;
+        this.server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        this.executor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "quiz-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Start a server over the project directory configured from system
+     * properties, or return null when -Dquiz.server=false.
+     */
+    public static QuizServer startFromProperties() throws IOException {
+        if (!Boolean.parseBoolean(System.getProperty("quiz.server", "true"))) {
+            return null;
+        }
+        String bind = System.getProperty("quiz.server.bind");
+        InetAddress bindAddress = bind == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind);
+        QuizServer server = new QuizServer(
+            Paths.get(System.getProperty("user.dir")),
+            bindAddress,
+            System.getProperty("quiz.server.publicHost", "127.0.0.1"),
+            Integer.getInteger("quiz.server.port", 0),
+            Boolean.parseBoolean(System.getProperty("quiz.server.gzip", "true")),
+            Integer.getInteger("quiz.server.cacheSeconds", 0),
+            Long.getLong("quiz.server.latencyMs", 0),
+            Long.getLong("quiz.server.bandwidthKbps", 0));
+        if (!bindAddress.isLoopbackAddress()) {
+            server.restrictTo(Collections.singleton(System.getProperty("quiz.html", "index.html")));
+        }
+        server.start();
+        return server;
+    }
+
+    /**
+     * Serve only the given files (relative to the root); every other path
+     * answers 404.
+     */
+    public void restrictTo(Collection<String> relativePaths) {
+        Set<Path> exposed = new HashSet<>();
+        for (String relativePath : relativePaths) {
+            exposed.add(root.resolve(relativePath).normalize());
+        }
+        exposedFiles = exposed;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public String getUrl(String file) {
+        return "http://" + publicHost + ":" + server.getAddress().getPort() + "/" + file;
+    }
+
+    public String describe() {
+        return "gzip " + (gzip ? "on" : "off")
+            + ", " + (cacheSeconds > 0 ? "max-age " + cacheSeconds + "s" : "no-cache")
+            + ", latency " + latencyMillis + " ms"
+            + ", bandwidth " + (bytesPerSecond > 0 ? bytesPerSecond * 8 / 1000 + " kbps" : "unlimited");
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String requestPath = exchange.getRequestURI().getPath();
+            Path file = root.resolve(requestPath.equals("/") ? "index.html" : requestPath.substring(1)).normalize();
+            Set<Path> exposed = exposedFiles;
+            if (!file.startsWith(root) || (exposed != null && !exposed.contains(file)) || !Files.isRegularFile(file)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            CachedFile content = load(file);
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", contentType(file));
+            headers.set("ETag", content.etag);
+            headers.set("Cache-Control", cacheSeconds > 0 ? "public, max-age=" + cacheSeconds : "no-cache");
+            headers.set("Vary", "Accept-Encoding");
+
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (content.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            byte[] body = content.raw;
+            if (content.gzipped != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                headers.set("Content-Encoding", "gzip");
+                body = content.gzipped;
+            }
+            if ("HEAD".equals(method)) {
+                headers.set("Content-Length", Integer.toString(body.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                write(out, body);
+            }
+            bytesSent.addAndGet(body.length);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void write(OutputStream out, byte[] body) throws IOException, InterruptedException {
+        if (bytesPerSecond <= 0) {
+            out.write(body);
+            return;
+        }
+        long start = System.nanoTime();
+        for (int offset = 0; offset < body.length; offset += THROTTLE_CHUNK) {
+            int length = Math.min(THROTTLE_CHUNK, body.length - offset);
+            out.write(body, offset, length);
+            out.flush();
+            // Sleep until the bytes sent so far fit the configured rate
+            long dueNanos = (offset + length) * 1_000_000_000L / bytesPerSecond;
+            long aheadMillis = (dueNanos - (System.nanoTime() - start)) / 1_000_000;
+            if (aheadMillis > 0) {
+                Thread.sleep(aheadMillis);
+            }
+        }
+    }
+
+    private CachedFile load(Path file) throws IOException {
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        CachedFile cached = files.get(file);
+        if (cached != null && cached.modified == modified) {
+            return cached;
+        }
+        byte[] raw = Files.readAllBytes(file);
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + raw.length + "\"";
+        byte[] gzipped = gzip && isCompressible(contentType(file)) ? compress(raw) : null;
+        cached = new CachedFile(modified, raw, gzipped, etag);
+        files.put(file, cached);
+        return cached;
+    }
+
+    private static byte[] compress(byte[] raw) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(raw.length / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(raw);
+        }
+        return buffer.toByteArray();
+    }
+
+    // Images other than SVG are already compressed
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") || contentType.startsWith("application/javascript")
+            || contentType.startsWith("application/json") || contentType.startsWith("image/svg");
+    }
+
+    private static String contentType(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String extension = dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
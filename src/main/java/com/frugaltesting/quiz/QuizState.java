@@ -0,0 +1,95 @@
+package com.frugaltesting.quiz;
+
+import java.util.Arrays;
+
+/**
+ * Declared page state that {@link QuizStateInjector} writes straight into
+ * the quiz's globals, so a step can start without replaying the ones before it.
+ * Answers are option indexes per question; {@link #UNANSWERED} leaves a
+ * question blank.
+ */
+public final class QuizState {
+
+    public enum Screen { LANDING, QUIZ, RESULTS }
+
+    public static final int UNANSWERED = -1;
+
+    // Option 0 for five questions, i.e. AnswerPlan.firstOption() (the default -Dquiz.plan) on a five-question bank
+    private static final int[] DEFAULT_ANSWERS = {0, 0, 0, 0, 0};
+
+    private final Screen screen;
+    private final String category;
+    private final String difficulty;
+    private final int[] answers;
+    private final int questionIndex;
+    private final int elapsedSeconds;
+
+    public QuizState(Screen screen, String category, String difficulty, int[] answers,
+                     int questionIndex, int elapsedSeconds) {
+        this.screen = screen;
+        this.category = category;
+        this.difficulty = difficulty;
+        this.answers = answers.clone();
+        this.questionIndex = questionIndex;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public static QuizState landing(String category, String difficulty) {
+        return new QuizState(Screen.LANDING, category, difficulty, new int[0], 0, 0);
+    }
+
+    public static QuizState question(String category, String difficulty, int questionIndex, int... answers) {
+        return new QuizState(Screen.QUIZ, category, difficulty, answers, questionIndex, 0);
+    }
+
+    public static QuizState results(String category, String difficulty, int elapsedSeconds, int... answers) {
+        return new QuizState(Screen.RESULTS, category, difficulty, answers, 0, elapsedSeconds);
+    }
+
+    /**
+     * The state a normal run is in just before the given step starts.
+     */
+    public static QuizState beforeStep(int step, String category, String difficulty) {
+        switch (step) {
+            case 3:
+                return question(category, difficulty, 0);
+            case 4:
+                return question(category, difficulty, DEFAULT_ANSWERS.length - 1, DEFAULT_ANSWERS);
+            case 5:
+            case 6:
+                return results(category, difficulty, 0, DEFAULT_ANSWERS);
+            default:
+                return landing(category, difficulty);
+        }
+    }
+
+    /**
+     * Parse a comma separated answer list such as "0,2,-,1"; "-" is unanswered.
+     */
+    public static int[] parseAnswers(String list) {
+        if (list == null || list.trim().isEmpty()) {
+            return DEFAULT_ANSWERS.clone();
+        }
+        return Arrays.stream(list.split(","))
+            .map(String::trim)
+            .mapToInt(answer -> "-".equals(answer) ? UNANSWERED : Integer.parseInt(answer))
+            .toArray();
+    }
+
+    public QuizState withAnswers(int[] newAnswers) {
+        return new QuizState(screen, category, difficulty, newAnswers, questionIndex, elapsedSeconds);
+    }
+
+    public Screen getScreen() { return screen; }
+    public String getCategory() { return category; }
+    public String getDifficulty() { return difficulty; }
+    public int[] getAnswers() { return answers.clone(); }
+    public int getQuestionIndex() { return questionIndex; }
+    public int getElapsedSeconds() { return elapsedSeconds; }
+
+    @Override
+    public String toString() {
+        return screen + " " + category + "/" + difficulty + " question " + (questionIndex + 1)
+            + " answers " + Arrays.toString(answers) + (elapsedSeconds > 0 ? " after " + elapsedSeconds + "s" : "");
+    }
+}
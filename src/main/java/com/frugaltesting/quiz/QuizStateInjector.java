@@ -0,0 +1,82 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a {@link QuizState} into the page in one executeScript call: sets
+ * questions, userAnswers, currentQuestionIndex and the active screen, then
+ * lets the page render it through loadQuestion() or displayResults().
+ */
+public class QuizStateInjector {
+
+    private static final String INJECT_SCRIPT =
+        "var screen = arguments[0], category = arguments[1], difficulty = arguments[2];" +
+        "var answers = arguments[3], index = arguments[4], elapsed = arguments[5];" +
+        "if (!quizData[category] || !quizData[category][difficulty]) {" +
+        "  throw new Error('No questions for ' + category + '/' + difficulty);" +
+        "}" +
+        "clearInterval(timer);" +
+        "document.getElementById('categorySelect').value = category;" +
+        "document.getElementById('difficultySelect').value = difficulty;" +
+        "currentCategory = category; currentDifficulty = difficulty;" +
+        "questions = quizData[category][difficulty];" +
+        "userAnswers = questions.map(function(q, i) {" +
+        "  return i < answers.length && answers[i] >= 0 && answers[i] < q.options.length ? answers[i] : null;" +
+        "});" +
+        "currentQuestionIndex = Math.max(0, Math.min(index, questions.length - 1));" +
+        "score = 0; totalTimeTaken = 0; timeLeft = 30;" +
+        "startTime = Date.now() - elapsed * 1000;" +
+        "document.querySelectorAll('.screen').forEach(function(s) { s.classList.remove('active'); });" +
+        "if (screen === 'LANDING') {" +
+        "  userAnswers = []; currentQuestionIndex = 0;" +
+        "  landingPage.classList.add('active');" +
+        "} else if (screen === 'QUIZ') {" +
+        "  quizPage.classList.add('active');" +
+        "  setupQuestionNavigation(); loadQuestion(); startTimer();" +
+        "} else {" +
+        "  questions.forEach(function(q, i) { if (userAnswers[i] === q.correct) { score++; } });" +
+        "  totalTimeTaken = elapsed;" +
+        "  resultsPage.classList.add('active');" +
+        "  displayResults();" +
+        "}" +
+        "var active = document.querySelector('.screen.active');" +
+        "return {activeScreen: active ? active.id : null, questions: questions.length, score: score};";
+
+    private final WebDriver driver;
+
+    public QuizStateInjector(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Apply the state and return the number of questions in the injected bank.
+     */
+    public int inject(QuizState state) {
+        List<Integer> answers = new ArrayList<>();
+        for (int answer : state.getAnswers()) {
+            answers.add(answer);
+        }
+        Map<?, ?> applied = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(INJECT_SCRIPT,
+            state.getScreen().name(), state.getCategory(), state.getDifficulty(), answers,
+            state.getQuestionIndex(), state.getElapsedSeconds());
+
+        String expectedScreen = screenId(state.getScreen());
+        if (!expectedScreen.equals(applied.get("activeScreen"))) {
+            throw new IllegalStateException("Injected " + state + " but active screen is " + applied.get("activeScreen"));
+        }
+        return ((Number) applied.get("questions")).intValue();
+    }
+
+    static String screenId(QuizState.Screen screen) {
+        switch (screen) {
+            case QUIZ: return "quizPage";
+            case RESULTS: return "resultsPage";
+            default: return "landingPage";
+        }
+    }
+}
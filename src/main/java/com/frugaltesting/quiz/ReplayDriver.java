@@ -0,0 +1,332 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * WebDriver stand-in that serves a {@link CommandRecorder} recording back
+ * to the harness, in order and without a browser. Each command the harness
+ * sends is checked against the next recorded one (target, method and
+ * arguments); a mismatch means the harness changed what it sends and stops
+ * the run with a {@link ReplayDivergenceException}.
+ *
+ * <pre>
+ *   -Dquiz.replay=recordings/run.jsonl.gz
+ *   -Dquiz.replay.strict=false    skip over dropped commands instead of failing
+ * </pre>
+ */
+public class ReplayDriver {
+
+    // How far a lenient replay looks ahead to resynchronise after a divergence
+    static final int LOOKAHEAD = 50;
+
+    // 1x1 transparent PNG handed out for every screenshot; recordings keep no images
+    private static final byte[] BLANK_PNG = Base64.getDecoder().decode(
+        "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+
+    // Recordings carry the origin of the embedded server, whose port changes per run
+    private static final String LOCAL_ORIGIN = "https?://(127\\.0\\.0\\.1|localhost)(:\\d+)?";
+    private static final String SELENIUM_PACKAGE = "org.openqa.selenium.";
+
+    /**
+     * Thrown when the harness sends a command the recording does not have
+     * at that point.
+     */
+    public static class ReplayDivergenceException extends WebDriverException {
+        private static final long serialVersionUID = 1L;
+
+        public ReplayDivergenceException(String message) {
+            super(message);
+        }
+    }
+
+    private final List<Map<String, Object>> commands;
+    private final boolean strict;
+    private final Json json = new Json();
+    private final Map<String, Object> proxies = new HashMap<>();
+    private final CommandRecorder encoder;
+    private final WebDriver driver;
+    private int cursor;
+    private int served;
+    private int skipped;
+
+    private ReplayDriver(List<Map<String, Object>> commands, boolean strict) {
+        this.commands = commands;
+        this.strict = strict;
+        this.encoder = new CommandRecorder(false) {
+            @Override
+            String elementRef(Object element) {
+                String ref = refOf(element);
+                return ref != null ? ref : super.elementRef(element);
+            }
+        };
+        this.driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class,
+                HasCapabilities.class, Interactive.class},
+            new Target("driver"));
+    }
+
+    /**
+     * Load a recording; the session is {@link #getDriver()}.
+     */
+    public static ReplayDriver open(Path recording, boolean strict) throws IOException {
+        return new ReplayDriver(CommandRecorder.read(recording), strict);
+    }
+
+    /**
+     * Open the recording named by -Dquiz.replay, or return null when it is
+     * not set.
+     */
+    public static ReplayDriver fromProperties() throws IOException {
+        String recording = System.getProperty("quiz.replay");
+        if (recording == null) {
+            return null;
+        }
+        return open(Paths.get(recording),
+            Boolean.parseBoolean(System.getProperty("quiz.replay.strict", "true")));
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public synchronized int getServedCount() {
+        return served;
+    }
+
+    public synchronized int getSkippedCount() {
+        return skipped;
+    }
+
+    public synchronized int getRemainingCount() {
+        return commands.size() - cursor;
+    }
+
+    public int getRecordedCount() {
+        return commands.size();
+    }
+
+    // Handler for the driver, each element and each Options/Window/... object, keyed by its recorded name
+    private final class Target implements InvocationHandler {
+        private final String name;
+
+        Target(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, method, args);
+            }
+            if (method.getName().equals("getWrappedDriver")) {
+                return driver;
+            }
+            Map<String, Object> command = next(name, method, args == null ? new Object[0] : args);
+            if (command.get("x") instanceof Map) {
+                throw recordedError(castMap(command.get("x")));
+            }
+            if (method.getName().equals("getScreenshotAs")) {
+                return ((OutputType<?>) args[0]).convertFromPngBytes(BLANK_PNG);
+            }
+            if (method.getReturnType() == void.class) {
+                return null;
+            }
+            Object result = decode(command.get("r"));
+            if (Set.class.isAssignableFrom(method.getReturnType()) && result instanceof List) {
+                return new LinkedHashSet<>((List<?>) result);
+            }
+            return result;
+        }
+
+        private Object objectMethod(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "ReplayDriver[" + name + "]";
+            }
+        }
+    }
+
+    // Match the harness's command against the recording and advance past it
+    private synchronized Map<String, Object> next(String target, Method method, Object[] args) {
+        Object actualArguments = canonical(encoder.encode(args));
+        int limit = Math.min(commands.size(), strict ? cursor + 1 : cursor + LOOKAHEAD);
+        for (int index = cursor; index < limit; index++) {
+            Map<String, Object> candidate = commands.get(index);
+            if (target.equals(candidate.get("t")) && method.getName().equals(candidate.get("m"))
+                    && Objects.equals(actualArguments, canonical(candidate.get("a")))) {
+                skipped += index - cursor;
+                cursor = index + 1;
+                served++;
+                return candidate;
+            }
+        }
+        String actual = describe(target, method.getName(), actualArguments);
+        if (cursor >= commands.size()) {
+            throw new ReplayDivergenceException("Recording exhausted after " + commands.size()
+                + " commands; the harness sent " + actual);
+        }
+        Map<String, Object> expected = commands.get(cursor);
+        throw new ReplayDivergenceException("Replay diverged at command #" + (cursor + 1)
+            + ": recorded " + describe((String) expected.get("t"), (String) expected.get("m"), expected.get("a"))
+            + " but the harness sent " + actual);
+    }
+
+    // Round-trip through JSON so numbers and maps compare the same way as the recorded side
+    private Object canonical(Object value) {
+        return withoutLocalOrigin(json.toType(json.toJson(value), Object.class));
+    }
+
+    private static Object withoutLocalOrigin(Object value) {
+        if (value instanceof String) {
+            return ((String) value).replaceAll(LOCAL_ORIGIN, "http://localhost");
+        }
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                list.add(withoutLocalOrigin(item));
+            }
+            return list;
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            castMap(value).forEach((key, item) -> map.put(key, withoutLocalOrigin(item)));
+            return map;
+        }
+        return value;
+    }
+
+    private String describe(String target, String method, Object arguments) {
+        String text = json.toJson(arguments).replaceAll("\\s+", " ");
+        if (text.length() > 160) {
+            text = text.substring(0, 160) + "...";
+        }
+        return target + "." + method + text;
+    }
+
+    private Object decode(Object value) {
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                list.add(decode(item));
+            }
+            return list;
+        }
+        if (!(value instanceof Map)) {
+            return value;
+        }
+        Map<String, Object> map = castMap(value);
+        if (map.size() == 1) {
+            Map.Entry<String, Object> tag = map.entrySet().iterator().next();
+            switch (tag.getKey()) {
+                case "@element":
+                    return proxy((String) tag.getValue(), WebElement.class, TakesScreenshot.class);
+                case "@proxy":
+                    return "WebDriver".equals(tag.getValue()) ? driver
+                        : proxy((String) tag.getValue(), CommandRecorder.proxyInterface((String) tag.getValue()));
+                case "@duration":
+                    return Duration.ofMillis(((Number) tag.getValue()).longValue());
+                case "@capabilities":
+                    return new ImmutableCapabilities(castMap(decode(tag.getValue())));
+                case "@dimension":
+                    List<Number> size = castList(tag.getValue());
+                    return new Dimension(size.get(0).intValue(), size.get(1).intValue());
+                case "@point":
+                    List<Number> point = castList(tag.getValue());
+                    return new Point(point.get(0).intValue(), point.get(1).intValue());
+                case "@rect":
+                    List<Number> rect = castList(tag.getValue());
+                    return new Rectangle(rect.get(0).intValue(), rect.get(1).intValue(),
+                        rect.get(3).intValue(), rect.get(2).intValue());
+                case "@value":
+                    return tag.getValue();
+                case "@type":
+                case "@png":
+                    return null;
+                default:
+                    break;
+            }
+        }
+        Map<String, Object> decoded = new LinkedHashMap<>();
+        map.forEach((key, item) -> decoded.put(key, decode(item)));
+        return decoded;
+    }
+
+    // Same recorded name, same proxy: element identity survives across lookups like it does in a browser
+    private synchronized Object proxy(String name, Class<?>... interfaces) {
+        if (interfaces.length == 0 || interfaces[0] == null) {
+            throw new ReplayDivergenceException("Recording references unknown object type " + name);
+        }
+        return proxies.computeIfAbsent(name, key ->
+            Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, new Target(key)));
+    }
+
+    private static String refOf(Object element) {
+        if (Proxy.isProxyClass(element.getClass()) && Proxy.getInvocationHandler(element) instanceof Target) {
+            return ((Target) Proxy.getInvocationHandler(element)).name;
+        }
+        return null;
+    }
+
+    // Rebuild the recorded exception type where it has a message constructor, so the harness's catch blocks behave the same.
+    // Only Selenium's own exceptions are loaded: a recording is a file, and must not pick arbitrary classes to instantiate
+    private static RuntimeException recordedError(Map<String, Object> error) {
+        String message = String.valueOf(error.get("message"));
+        String typeName = String.valueOf(error.get("type"));
+        if (typeName.startsWith(SELENIUM_PACKAGE)) {
+            try {
+                Class<?> type = Class.forName(typeName, false, WebDriverException.class.getClassLoader());
+                if (WebDriverException.class.isAssignableFrom(type)) {
+                    Constructor<?> constructor = type.getConstructor(String.class);
+                    return (RuntimeException) constructor.newInstance(message);
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to a plain WebDriverException
+            }
+        }
+        return new WebDriverException(typeName + ": " + message);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Number> castList(Object value) {
+        return (List<Number>) value;
+    }
+}
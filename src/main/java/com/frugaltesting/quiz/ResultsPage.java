@@ -0,0 +1,26 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The #resultsPage screen. Scores are read through {@link PageSnapshotter};
+ * this object covers the presence check and the restart button.
+ */
+public class ResultsPage extends PageObject {
+
+    public ResultsPage(WebDriver driver) {
+        super(driver, "results");
+        require("totalScore", "Total Score Display");
+        require("correctAnswers", "Correct Answers Count");
+        require("wrongAnswers", "Wrong Answers Count");
+        require("totalTime", "Total Time Display");
+        require("detailedAnalysis", "Detailed Analysis Section");
+    }
+
+    public void clickRestart() {
+        withElement("restartBtn", button -> {
+            button.click();
+            return null;
+        });
+    }
+}
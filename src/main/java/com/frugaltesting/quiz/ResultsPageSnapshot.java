@@ -0,0 +1,56 @@
+package com.frugaltesting.quiz;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of the results screen captured in a single executeScript call.
+ */
+public final class ResultsPageSnapshot {
+
+    private final String activeScreen;
+    private final String totalScore;
+    private final String correctAnswers;
+    private final String wrongAnswers;
+    private final String totalTime;
+    private final List<ResultItem> resultItems;
+    private final boolean restartAvailable;
+
+    ResultsPageSnapshot(String activeScreen, String totalScore, String correctAnswers, String wrongAnswers,
+                        String totalTime, List<ResultItem> resultItems, boolean restartAvailable) {
+        this.activeScreen = activeScreen;
+        this.totalScore = totalScore;
+        this.correctAnswers = correctAnswers;
+        this.wrongAnswers = wrongAnswers;
+        this.totalTime = totalTime;
+        this.resultItems = Collections.unmodifiableList(resultItems);
+        this.restartAvailable = restartAvailable;
+    }
+
+    /**
+     * One entry of the detailed analysis section.
+     */
+    public static final class ResultItem {
+        private final String question;
+        private final String answer;
+        private final boolean correct;
+
+        ResultItem(String question, String answer, boolean correct) {
+            this.question = question;
+            this.answer = answer;
+            this.correct = correct;
+        }
+
+        public String getQuestion() { return question; }
+        public String getAnswer() { return answer; }
+        public boolean isCorrect() { return correct; }
+    }
+
+    public String getActiveScreen() { return activeScreen; }
+    public String getTotalScore() { return totalScore; }
+    public String getCorrectAnswers() { return correctAnswers; }
+    public String getWrongAnswers() { return wrongAnswers; }
+    public String getTotalTime() { return totalTime; }
+    public List<ResultItem> getResultItems() { return resultItems; }
+    public boolean isRestartAvailable() { return restartAvailable; }
+}
@@ -0,0 +1,246 @@
+package com.frugaltesting.quiz;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Small query tool over the run history store.
+ *
+ * <pre>
+ *   import [dir]                               import old test_execution_logs_*.txt files
+ *   summary                                    runs, outcomes and date range
+ *   percentile --metric step3 [--p 50,95,99]   latency percentiles
+ *   trend --metric step3 [--bucket week]       median / p95 per day, week or month
+ *
+ *   filters: --category c --difficulty d --days N --store path
+ *   metrics: total, step0..step9, question (every question), question1..question10
+ * </pre>
+ */
+public class RunHistoryCli {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: RunHistoryCli <import|summary|percentile|trend> [options]");
+            return;
+        }
+        Map<String, String> options = parseOptions(args);
+        RunHistoryStore store = new RunHistoryStore(
+            options.containsKey("store") ? Paths.get(options.get("store")) : RunHistoryStore.DEFAULT_PATH);
+
+        String metric = options.getOrDefault("metric", "total");
+        try {
+            checkMetric(metric);
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ " + e.getMessage());
+            System.out.println("Metrics: total, step0..step" + (RunHistoryStore.MAX_STEPS - 1)
+                + ", question, question1..question" + RunHistoryStore.MAX_QUESTIONS);
+            return;
+        }
+
+        long start = System.nanoTime();
+        switch (args[0]) {
+            case "import":
+                Path directory = Paths.get(options.getOrDefault("arg", "."));
+                int added = new RunHistoryImporter(store).importDirectory(directory);
+                System.out.println("📥 Imported " + added + " run(s) from " + directory.toAbsolutePath());
+                break;
+            case "summary":
+                summary(store, filter(options));
+                break;
+            case "percentile":
+                percentile(store, filter(options), metric,
+                    options.getOrDefault("p", "50,90,95,99"));
+                break;
+            case "trend":
+                trend(store, filter(options), metric,
+                    options.getOrDefault("bucket", "week"));
+                break;
+            default:
+                System.out.println("❌ Unknown command: " + args[0]);
+                return;
+        }
+        System.out.printf("⏱️ Query took %.2f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                options.put("arg", args[i]);
+            }
+        }
+        return options;
+    }
+
+    private static Predicate<RunHistoryStore.RunRecord> filter(Map<String, String> options) {
+        String category = options.get("category");
+        String difficulty = options.get("difficulty");
+        long since = options.containsKey("days")
+            ? Instant.now().minus(Long.parseLong(options.get("days")), ChronoUnit.DAYS).toEpochMilli()
+            : Long.MIN_VALUE;
+        return record -> (category == null || category.equals(record.getCategory()))
+            && (difficulty == null || difficulty.equals(record.getDifficulty()))
+            && record.getStartEpochMillis() >= since;
+    }
+
+    private static void summary(RunHistoryStore store, Predicate<RunHistoryStore.RunRecord> filter) throws IOException {
+        long[] counts = new long[3];
+        long[] range = {Long.MAX_VALUE, Long.MIN_VALUE};
+        store.scan(record -> {
+            if (filter.test(record)) {
+                counts[Math.min(record.getOutcome(), 2)]++;
+                range[0] = Math.min(range[0], record.getStartEpochMillis());
+                range[1] = Math.max(range[1], record.getStartEpochMillis());
+            }
+        });
+        long total = counts[0] + counts[1] + counts[2];
+        System.out.println("📚 " + total + " run(s): " + counts[0] + " passed, " + counts[1] + " failed, "
+            + counts[2] + " incomplete");
+        if (total > 0) {
+            System.out.println("📅 " + day(range[0]) + " → " + day(range[1]));
+        }
+    }
+
+    private static void percentile(RunHistoryStore store, Predicate<RunHistoryStore.RunRecord> filter,
+                                   String metric, String percentiles) throws IOException {
+        FloatSeries series = new FloatSeries();
+        store.scan(record -> {
+            if (filter.test(record)) {
+                collect(record, metric, series);
+            }
+        });
+        float[] sorted = series.sorted();
+        System.out.println("📊 " + metric + " over " + sorted.length + " sample(s)");
+        for (String p : percentiles.split(",")) {
+            double rank = Double.parseDouble(p.trim());
+            System.out.printf("   p%-5s %10.1f ms%n", p.trim(), percentileOf(sorted, rank));
+        }
+    }
+
+    private static void trend(RunHistoryStore store, Predicate<RunHistoryStore.RunRecord> filter,
+                              String metric, String bucket) throws IOException {
+        Map<String, FloatSeries> buckets = new TreeMap<>();
+        store.scan(record -> {
+            if (filter.test(record)) {
+                collect(record, metric, buckets.computeIfAbsent(bucketOf(record.getStartEpochMillis(), bucket),
+                    key -> new FloatSeries()));
+            }
+        });
+        System.out.println("📈 " + metric + " by " + bucket);
+        System.out.printf("   %-10s %6s %10s %10s%n", "bucket", "runs", "p50 ms", "p95 ms");
+        for (Map.Entry<String, FloatSeries> entry : buckets.entrySet()) {
+            float[] sorted = entry.getValue().sorted();
+            System.out.printf("   %-10s %6d %10.1f %10.1f%n", entry.getKey(), sorted.length,
+                percentileOf(sorted, 50), percentileOf(sorted, 95));
+        }
+    }
+
+    // Reject a metric up front, before scanning, so a typo is a usage error rather than an exception mid-scan
+    private static void checkMetric(String metric) {
+        if ("total".equals(metric) || "question".equals(metric)) {
+            return;
+        }
+        if (metric.startsWith("step")) {
+            int step = parseIndex(metric, 4);
+            if (step >= 0 && step < RunHistoryStore.MAX_STEPS) {
+                return;
+            }
+        } else if (metric.startsWith("question")) {
+            int question = parseIndex(metric, 8);
+            if (question >= 1 && question <= RunHistoryStore.MAX_QUESTIONS) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric: " + metric);
+    }
+
+    private static int parseIndex(String metric, int offset) {
+        try {
+            return Integer.parseInt(metric.substring(offset));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void collect(RunHistoryStore.RunRecord record, String metric, FloatSeries series) {
+        if ("total".equals(metric)) {
+            series.add(record.getTotalMillis());
+        } else if (metric.startsWith("step")) {
+            series.add(record.getStepMillis(Integer.parseInt(metric.substring(4))));
+        } else if ("question".equals(metric)) {
+            for (int i = 0; i < record.getQuestionCount(); i++) {
+                series.add(record.getQuestionMillis(i));
+            }
+        } else if (metric.startsWith("question")) {
+            int question = Integer.parseInt(metric.substring(8)) - 1;
+            if (question < record.getQuestionCount()) {
+                series.add(record.getQuestionMillis(question));
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+    }
+
+    private static String bucketOf(long epochMillis, String bucket) {
+        LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(ZONE).toLocalDate();
+        switch (bucket) {
+            case "day":
+                return date.toString();
+            case "month":
+                return date.toString().substring(0, 7);
+            default:
+                return String.format("%d-W%02d", date.get(IsoFields.WEEK_BASED_YEAR),
+                    date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        }
+    }
+
+    private static String day(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZONE).toLocalDate().toString();
+    }
+
+    // Nearest-rank percentile
+    static double percentileOf(float[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    // Growable primitive float list, NaN (step not run) values are ignored
+    private static final class FloatSeries {
+        private float[] values = new float[64];
+        private int size;
+
+        void add(float value) {
+            if (Float.isNaN(value)) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        float[] sorted() {
+            float[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
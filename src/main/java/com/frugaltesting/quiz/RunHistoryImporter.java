@@ -0,0 +1,219 @@
+package com.frugaltesting.quiz;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One-time importer for the test_execution_logs_*.txt files written by
+ * earlier runs. Timings are reconstructed from the "[HH:mm:ss]" prefixes,
+ * so imported runs only have one-second resolution.
+ */
+public class RunHistoryImporter {
+
+    private static final Pattern FILE_NAME =
+        Pattern.compile("test_execution_logs_(?:matrix_)?(\\d{8})_(\\d{6})\\.txt");
+    private static final Pattern LOG_LINE = Pattern.compile("^\\[(\\d{2}):(\\d{2}):(\\d{2})\\] ?(.*)$");
+    private static final Pattern STEP_START = Pattern.compile("^STEP (\\d+): ");
+    private static final Pattern STEP_END = Pattern.compile("STEP (\\d+) (PASSED|FAILED)");
+    private static final Pattern QUESTION = Pattern.compile("^--- Question (\\d+) ---");
+    private static final Pattern CATEGORY = Pattern.compile("Category selected: (\\S+)");
+    private static final Pattern DIFFICULTY = Pattern.compile("Difficulty selected: (\\S+)");
+    private static final String COMBINATION = "COMBINATION: ";
+
+    private final RunHistoryStore store;
+
+    public RunHistoryImporter(RunHistoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Import every execution log in the directory, skipping runs that were
+     * already imported.
+     *
+     * @return the number of runs added
+     */
+    public int importDirectory(Path directory) throws IOException {
+        Set<String> known = new HashSet<>();
+        store.scan(record -> {
+            if (record.getSource() == RunHistoryStore.SOURCE_IMPORTED) {
+                known.add(key(record));
+            }
+        });
+
+        int added = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "test_execution_logs_*.txt")) {
+            for (Path file : files) {
+                Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+                if (!name.matches()) {
+                    continue;
+                }
+                LocalDate date = LocalDate.parse(name.group(1), DateTimeFormatter.BASIC_ISO_DATE);
+                for (RunHistoryStore.RunRecord record : parse(file, date)) {
+                    if (known.add(key(record))) {
+                        store.append(record);
+                        added++;
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    private static String key(RunHistoryStore.RunRecord record) {
+        return record.getStartEpochMillis() + "/" + record.getCategory() + "/" + record.getDifficulty();
+    }
+
+    private List<RunHistoryStore.RunRecord> parse(Path file, LocalDate date) throws IOException {
+        List<RunHistoryStore.RunRecord> runs = new ArrayList<>();
+        RunParser current = null;
+        int lastSecondOfDay = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(COMBINATION)) {
+                    if (current != null) {
+                        current.finish(runs);
+                    }
+                    String[] combination = line.substring(COMBINATION.length()).trim().split("/");
+                    current = new RunParser(date, combination[0], combination.length > 1 ? combination[1] : "");
+                    continue;
+                }
+                Matcher log = LOG_LINE.matcher(line);
+                if (!log.matches()) {
+                    // Messages logged with a leading "\n" continue on an unprefixed line
+                    if (current != null && !line.isEmpty()) {
+                        current.accept(lastSecondOfDay, line);
+                    }
+                    continue;
+                }
+                if (current == null) {
+                    // Single-run logs predate category selection and always ran programming/easy
+                    current = new RunParser(date, "programming", "easy");
+                }
+                int secondOfDay = Integer.parseInt(log.group(1)) * 3600
+                    + Integer.parseInt(log.group(2)) * 60 + Integer.parseInt(log.group(3));
+                lastSecondOfDay = secondOfDay;
+                current.accept(secondOfDay, log.group(4));
+            }
+        }
+        if (current != null) {
+            current.finish(runs);
+        }
+        return runs;
+    }
+
+    // Reconstructs one run from its log lines
+    private static final class RunParser {
+        private final LocalDate date;
+        private final RunHistoryStore.RunRecord record = new RunHistoryStore.RunRecord();
+        private int firstSecond = -1;
+        private int lastSecond;
+        private int dayOffset;
+        private final int[] stepStart = new int[RunHistoryStore.MAX_STEPS];
+        private int openStep = -1;
+        private int questionStart = -1;
+
+        RunParser(LocalDate date, String category, String difficulty) {
+            this.date = date;
+            record.setCategory(category);
+            record.setDifficulty(difficulty);
+            record.source = RunHistoryStore.SOURCE_IMPORTED;
+            record.environment = "imported-log";
+        }
+
+        void accept(int secondOfDay, String message) {
+            int second = secondOfDay + dayOffset;
+            if (firstSecond >= 0 && second < lastSecond) {
+                dayOffset += 86_400;
+                second += 86_400;
+            }
+            if (firstSecond < 0) {
+                firstSecond = second;
+            }
+            lastSecond = second;
+
+            Matcher matcher;
+            if (message.contains("QUIZ AUTOMATION TEST INITIALIZATION")) {
+                begin(0, second);
+            } else if (message.contains("ChromeDriver initialized successfully")) {
+                end(0, StepResult.Status.PASSED, second);
+            } else if (message.contains("Driver initialization failed")) {
+                end(0, StepResult.Status.FAILED, second);
+            } else if ((matcher = STEP_START.matcher(message)).find()) {
+                begin(Integer.parseInt(matcher.group(1)), second);
+            } else if ((matcher = STEP_END.matcher(message)).find()) {
+                closeQuestion(second);
+                end(Integer.parseInt(matcher.group(1)),
+                    "PASSED".equals(matcher.group(2)) ? StepResult.Status.PASSED : StepResult.Status.FAILED, second);
+            } else if (QUESTION.matcher(message).find()) {
+                closeQuestion(second);
+                questionStart = second;
+            } else if ((matcher = CATEGORY.matcher(message)).find()) {
+                record.setCategory(matcher.group(1).toLowerCase(Locale.ROOT));
+            } else if ((matcher = DIFFICULTY.matcher(message)).find()) {
+                record.setDifficulty(matcher.group(1).toLowerCase(Locale.ROOT));
+            }
+        }
+
+        private void begin(int step, int second) {
+            if (step < RunHistoryStore.MAX_STEPS) {
+                stepStart[step] = second;
+                openStep = step;
+            }
+        }
+
+        private void end(int step, StepResult.Status status, int second) {
+            if (step < RunHistoryStore.MAX_STEPS) {
+                record.setStep(step, status, (second - stepStart[step]) * 1000.0);
+                openStep = -1;
+            }
+        }
+
+        private void closeQuestion(int second) {
+            if (questionStart >= 0) {
+                record.addQuestion((second - questionStart) * 1000.0);
+                questionStart = -1;
+            }
+        }
+
+        void finish(List<RunHistoryStore.RunRecord> runs) {
+            if (firstSecond < 0) {
+                return;
+            }
+            if (openStep >= 0) {
+                record.setStep(openStep, StepResult.Status.FAILED, (lastSecond - stepStart[openStep]) * 1000.0);
+            }
+            boolean failed = false;
+            boolean incomplete = false;
+            for (int step = 0; step < RunHistoryStore.MAX_STEPS; step++) {
+                StepResult.Status status = record.getStepStatus(step);
+                failed |= status == StepResult.Status.FAILED;
+                incomplete |= step >= 1 && step <= 5 && status != StepResult.Status.PASSED;
+            }
+            record.outcome = failed ? RunHistoryStore.OUTCOME_FAILED
+                : incomplete ? RunHistoryStore.OUTCOME_INCOMPLETE : RunHistoryStore.OUTCOME_PASSED;
+            record.totalMillis = (lastSecond - firstSecond) * 1000f;
+            record.startEpochMillis = date.atStartOfDay()
+                .plusSeconds(firstSecond)
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+            runs.add(record);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.frugaltesting.quiz;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Append-only binary store of run history.
+ * Every run is one fixed-size record (step timings, question latencies,
+ * outcome, environment) so queries can scan a memory-mapped view of the
+ * file without parsing anything.
+ *
+ * Layout: 64-byte header, then RECORD_SIZE-byte little-endian records.
+ */
+public class RunHistoryStore {
+
+    static final Path DEFAULT_PATH = Paths.get("test-history", "runs.qhist");
+
+    // Steps 0 (setup) to 9 (scaling benchmark); index = step number
+    static final int MAX_STEPS = 10;
+    static final int MAX_QUESTIONS = 10;
+    static final int ENV_BYTES = 32;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 160;
+
+    private static final byte[] MAGIC = "QHIST001".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2;
+
+    // Record field offsets
+    private static final int OFF_START = 0;
+    private static final int OFF_CATEGORY = 8;
+    private static final int OFF_DIFFICULTY = 9;
+    private static final int OFF_OUTCOME = 10;
+    private static final int OFF_SOURCE = 11;
+    private static final int OFF_TOTAL = 12;
+    private static final int OFF_STEP_MILLIS = 16;
+    private static final int OFF_STEP_STATUS = OFF_STEP_MILLIS + 4 * MAX_STEPS;
+    private static final int OFF_QUESTION_COUNT = OFF_STEP_STATUS + MAX_STEPS;
+    private static final int OFF_QUESTION_MILLIS = OFF_QUESTION_COUNT + 1;
+    private static final int OFF_ENV = OFF_QUESTION_MILLIS + 4 * MAX_QUESTIONS;
+
+    public static final byte OUTCOME_PASSED = 0;
+    public static final byte OUTCOME_FAILED = 1;
+    public static final byte OUTCOME_INCOMPLETE = 2;
+
+    public static final byte SOURCE_LIVE = 0;
+    public static final byte SOURCE_IMPORTED = 1;
+
+    public static final byte UNKNOWN = (byte) 0xFF;
+
+    private final Path file;
+
+    /**
+     * One stored run. Step and question timings are in milliseconds;
+     * NaN marks a step that never ran.
+     */
+    public static final class RunRecord {
+        long startEpochMillis;
+        byte category = UNKNOWN;
+        byte difficulty = UNKNOWN;
+        byte outcome;
+        byte source;
+        float totalMillis;
+        final float[] stepMillis = new float[MAX_STEPS];
+        final byte[] stepStatus = new byte[MAX_STEPS];
+        int questionCount;
+        final float[] questionMillis = new float[MAX_QUESTIONS];
+        String environment = "";
+
+        public RunRecord() {
+            Arrays.fill(stepMillis, Float.NaN);
+            Arrays.fill(stepStatus, (byte) StepResult.Status.NOT_RUN.ordinal());
+        }
+
+        public long getStartEpochMillis() { return startEpochMillis; }
+        public String getCategory() { return decode(QuizMatrixRunner.CATEGORIES, category); }
+        public String getDifficulty() { return decode(QuizMatrixRunner.DIFFICULTIES, difficulty); }
+        public byte getOutcome() { return outcome; }
+        public byte getSource() { return source; }
+        public float getTotalMillis() { return totalMillis; }
+        public float getStepMillis(int step) { return stepMillis[step]; }
+        public StepResult.Status getStepStatus(int step) { return StepResult.Status.values()[stepStatus[step]]; }
+        public int getQuestionCount() { return questionCount; }
+        public float getQuestionMillis(int question) { return questionMillis[question]; }
+        public String getEnvironment() { return environment; }
+
+        void setCategory(String name) { category = encode(QuizMatrixRunner.CATEGORIES, name); }
+        void setDifficulty(String name) { difficulty = encode(QuizMatrixRunner.DIFFICULTIES, name); }
+
+        void setStep(int step, StepResult.Status status, double millis) {
+            if (step >= 0 && step < MAX_STEPS) {
+                stepStatus[step] = (byte) status.ordinal();
+                stepMillis[step] = status == StepResult.Status.NOT_RUN ? Float.NaN : (float) millis;
+            }
+        }
+
+        void addQuestion(double millis) {
+            if (questionCount < MAX_QUESTIONS) {
+                questionMillis[questionCount++] = (float) millis;
+            }
+        }
+
+        /**
+         * Build a record from the step results of a finished QuizAutomation context.
+         */
+        static RunRecord fromSteps(long startEpochMillis, String category, String difficulty,
+                                   Iterable<StepResult> results, String environment) {
+            RunRecord record = new RunRecord();
+            record.startEpochMillis = startEpochMillis;
+            record.setCategory(category);
+            record.setDifficulty(difficulty);
+            record.environment = environment;
+            record.source = SOURCE_LIVE;
+
+            boolean failed = false;
+            boolean incomplete = false;
+            double total = 0;
+            for (StepResult result : results) {
+                record.setStep(result.getStepNumber(), result.getStatus(), result.getDurationMillis());
+                total += result.getDurationMillis();
+                failed |= result.getStatus() == StepResult.Status.FAILED;
+                incomplete |= result.getStatus() != StepResult.Status.PASSED;
+                for (StepResult.QuestionTiming timing : result.getQuestionTimings()) {
+                    record.addQuestion(timing.getMillis());
+                }
+            }
+            record.totalMillis = (float) total;
+            record.outcome = failed ? OUTCOME_FAILED : incomplete ? OUTCOME_INCOMPLETE : OUTCOME_PASSED;
+            return record;
+        }
+    }
+
+    public RunHistoryStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized void append(RunRecord record) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            if (channel.size() == 0) {
+                channel.write(header());
+            } else {
+                // Never append records of this layout to a file written by another version
+                verifyHeader(readHeader(file));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            write(record, buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Visit every stored record in insertion order. The same RunRecord
+     * instance is reused for each call, so consumers must copy what they keep.
+     */
+    public void scan(Consumer<RunRecord> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            verifyHeader(mapped);
+
+            long count = (size - HEADER_SIZE) / RECORD_SIZE;
+            RunRecord record = new RunRecord();
+            for (long i = 0; i < count; i++) {
+                read(mapped, (int) (HEADER_SIZE + i * RECORD_SIZE), record);
+                consumer.accept(record);
+            }
+        }
+    }
+
+    public long count() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return Math.max(0, (Files.size(file) - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(RECORD_SIZE);
+        header.position(HEADER_SIZE);
+        header.flip();
+        return header;
+    }
+
+    private static ByteBuffer readHeader(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] header = in.readNBytes(HEADER_SIZE);
+            if (header.length < HEADER_SIZE) {
+                throw new IOException("Not a run history file (truncated header)");
+            }
+            return ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private static void verifyHeader(ByteBuffer mapped) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        for (int i = 0; i < MAGIC.length; i++) {
+            magic[i] = mapped.get(i);
+        }
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a run history file (bad header)");
+        }
+        int version = mapped.getInt(MAGIC.length);
+        if (version != VERSION || mapped.getInt(MAGIC.length + 4) != RECORD_SIZE) {
+            throw new IOException("Run history file has format version " + version + ", this build reads version "
+                + VERSION + "; move the old file aside and re-import the logs");
+        }
+    }
+
+    private static void write(RunRecord record, ByteBuffer buffer) {
+        buffer.putLong(OFF_START, record.startEpochMillis);
+        buffer.put(OFF_CATEGORY, record.category);
+        buffer.put(OFF_DIFFICULTY, record.difficulty);
+        buffer.put(OFF_OUTCOME, record.outcome);
+        buffer.put(OFF_SOURCE, record.source);
+        buffer.putFloat(OFF_TOTAL, record.totalMillis);
+        for (int i = 0; i < MAX_STEPS; i++) {
+            buffer.putFloat(OFF_STEP_MILLIS + 4 * i, record.stepMillis[i]);
+            buffer.put(OFF_STEP_STATUS + i, record.stepStatus[i]);
+        }
+        buffer.put(OFF_QUESTION_COUNT, (byte) record.questionCount);
+        for (int i = 0; i < MAX_QUESTIONS; i++) {
+            buffer.putFloat(OFF_QUESTION_MILLIS + 4 * i, record.questionMillis[i]);
+        }
+        byte[] env = record.environment.getBytes(StandardCharsets.UTF_8);
+        int envLength = utf8Prefix(env, ENV_BYTES);
+        for (int i = 0; i < ENV_BYTES; i++) {
+            buffer.put(OFF_ENV + i, i < envLength ? env[i] : 0);
+        }
+        buffer.position(RECORD_SIZE);
+    }
+
+    // Longest prefix of at most maxBytes that does not end inside a multi-byte character
+    static int utf8Prefix(byte[] utf8, int maxBytes) {
+        if (utf8.length <= maxBytes) {
+            return utf8.length;
+        }
+        int length = maxBytes;
+        while (length > 0 && (utf8[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return length;
+    }
+
+    private static void read(ByteBuffer mapped, int base, RunRecord record) {
+        record.startEpochMillis = mapped.getLong(base + OFF_START);
+        record.category = mapped.get(base + OFF_CATEGORY);
+        record.difficulty = mapped.get(base + OFF_DIFFICULTY);
+        record.outcome = mapped.get(base + OFF_OUTCOME);
+        record.source = mapped.get(base + OFF_SOURCE);
+        record.totalMillis = mapped.getFloat(base + OFF_TOTAL);
+        for (int i = 0; i < MAX_STEPS; i++) {
+            record.stepMillis[i] = mapped.getFloat(base + OFF_STEP_MILLIS + 4 * i);
+            record.stepStatus[i] = mapped.get(base + OFF_STEP_STATUS + i);
+        }
+        record.questionCount = mapped.get(base + OFF_QUESTION_COUNT);
+        for (int i = 0; i < MAX_QUESTIONS; i++) {
+            record.questionMillis[i] = mapped.getFloat(base + OFF_QUESTION_MILLIS + 4 * i);
+        }
+        int length = 0;
+        byte[] env = new byte[ENV_BYTES];
+        for (; length < ENV_BYTES; length++) {
+            env[length] = mapped.get(base + OFF_ENV + length);
+            if (env[length] == 0) {
+                break;
+            }
+        }
+        record.environment = new String(env, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte encode(String[] values, String name) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(name)) {
+                return (byte) i;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static String decode(String[] values, byte code) {
+        int index = code & 0xFF;
+        return index < values.length ? values[index] : "unknown";
+    }
+}
@@ -0,0 +1,281 @@
+package com.frugaltesting.quiz;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Question-count scaling benchmark: swaps the chosen category's bank for
+ * synthetic banks of increasing size and times start, Next navigation,
+ * option selection and submit at each size. Each operation's growth is fitted
+ * on a log-log scale; an exponent above the limit means the cost grows faster
+ * than the number of questions.
+ *
+ * <pre>
+ *   -Dquiz.mode=scaling
+ *   -Dquiz.scaling.category=programming
+ *   -Dquiz.scaling.sizes=10,100,1000,10000
+ *   -Dquiz.scaling.rounds=3         median of this many runs per size
+ *   -Dquiz.scaling.samples=20       Next/select clicks timed per run
+ *   -Dquiz.scaling.maxExponent=1.2
+ * </pre>
+ */
+public class ScalingRunner {
+
+    static final int[] DEFAULT_SIZES = {10, 100, 1_000, 10_000};
+    static final int DEFAULT_ROUNDS = 3;
+    static final int DEFAULT_SAMPLES = 20;
+    static final double DEFAULT_MAX_EXPONENT = 1.2;
+    // Timings below this are dominated by timer resolution; the tail exponent ignores them
+    static final double MIN_TAIL_MILLIS = 1.0;
+
+    private static final String METRICS_FOLDER = "test-metrics/";
+    private static final String[] OPERATIONS = {"start", "navigate", "select", "submit", "full_quiz"};
+
+    /*
+     * Replaces quizData[category][difficulty] with `size` questions cloned
+     * from the real bank, then drives the page's own handlers. Each action is
+     * followed by a forced reflow (offsetHeight) so style and layout are part
+     * of the measured time. The original bank is restored before returning.
+     */
+    private static final String BENCHMARK_SCRIPT =
+        "var category = arguments[0], difficulty = arguments[1], size = arguments[2], samples = arguments[3];" +
+        "var original = quizData[category][difficulty];" +
+        "var bank = [];" +
+        "for (var i = 0; i < size; i++) {" +
+        "  var source = original[i % original.length];" +
+        "  bank.push({ question: source.question + ' (#' + (i + 1) + ')', options: source.options.slice(), correct: source.correct });" +
+        "}" +
+        "function timed(action) {" +
+        "  var t0 = performance.now(); action(); void document.body.offsetHeight;" +
+        "  return performance.now() - t0;" +
+        "}" +
+        "function median(values) {" +
+        "  var sorted = values.slice().sort(function(a, b) { return a - b; });" +
+        "  return sorted.length ? sorted[Math.floor(sorted.length / 2)] : 0;" +
+        "}" +
+        "quizData[category][difficulty] = bank;" +
+        "try {" +
+        "  var name = document.getElementById('username');" +
+        "  if (!name.value.trim()) { name.value = 'Scaling Test User'; }" +
+        "  document.getElementById('categorySelect').value = category;" +
+        "  document.getElementById('difficultySelect').value = difficulty;" +
+        "  var start = timed(function() { startBtn.click(); });" +
+        "  var selects = [], navigations = [];" +
+        "  var clicks = Math.min(samples, size - 1);" +
+        "  for (var k = 0; k < clicks; k++) {" +
+        "    selects.push(timed(function() { document.querySelectorAll('#optionsContainer .option')[0].click(); }));" +
+        "    navigations.push(timed(function() { nextBtn.click(); }));" +
+        "  }" +
+        "  var rendered = document.querySelectorAll('#questionNav .nav-btn').length;" +
+        "  var submit = timed(function() { submitBtn.click(); });" +
+        "  var results = document.querySelectorAll('#detailedAnalysis .result-item').length;" +
+        "  restartBtn.click();" +
+        "  return { start: start, select: median(selects), navigate: median(navigations), submit: submit," +
+        "    navButtons: rendered, resultItems: results };" +
+        "} finally {" +
+        "  quizData[category][difficulty] = original;" +
+        "}";
+
+    /**
+     * Median timings of one bank size, in milliseconds.
+     */
+    public static final class SizeResult {
+        private final int size;
+        private final Map<String, Double> millis;
+
+        SizeResult(int size, Map<String, Double> millis) {
+            this.size = size;
+            this.millis = millis;
+        }
+
+        public int getSize() { return size; }
+
+        public double getMillis(String operation) {
+            return millis.get(operation);
+        }
+    }
+
+    private final int[] sizes;
+    private final int rounds;
+    private final int samples;
+    private final double maxExponent;
+
+    public ScalingRunner(int[] sizes, int rounds, int samples, double maxExponent) {
+        this.sizes = sizes.clone();
+        Arrays.sort(this.sizes);
+        this.rounds = Math.max(1, rounds);
+        this.samples = Math.max(1, samples);
+        this.maxExponent = maxExponent;
+    }
+
+    public static ScalingRunner fromProperties() {
+        String sizes = System.getProperty("quiz.scaling.sizes");
+        String maxExponent = System.getProperty("quiz.scaling.maxExponent");
+        return new ScalingRunner(
+            sizes == null ? DEFAULT_SIZES : Arrays.stream(sizes.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray(),
+            Integer.getInteger("quiz.scaling.rounds", DEFAULT_ROUNDS),
+            Integer.getInteger("quiz.scaling.samples", DEFAULT_SAMPLES),
+            maxExponent == null ? DEFAULT_MAX_EXPONENT : Double.parseDouble(maxExponent));
+    }
+
+    /**
+     * @return true when no per-action cost grows faster than the limit
+     */
+    public boolean run(String quizURL) {
+        QuizAutomation automation = new QuizAutomation(
+            System.getProperty("quiz.scaling.category", "programming"), "easy", "test-screenshots/");
+        boolean passed = false;
+
+        try {
+            automation.initializeDriver();
+            automation.step1_VerifyLandingPage(quizURL);
+
+            StepResult result = automation.beginStep(9, "Question Scaling");
+            automation.log("\n==========================================");
+            automation.log("STEP 9: QUESTION SCALING " + Arrays.toString(sizes) + " (" + automation.getCategory() + ")");
+            automation.log("==========================================");
+
+            try {
+                List<SizeResult> measured = new ArrayList<>();
+                for (int size : sizes) {
+                    SizeResult sizeResult = measure(automation, size);
+                    measured.add(sizeResult);
+                    for (String operation : OPERATIONS) {
+                        result.addMetric("n=" + size + " " + operation + "_ms", sizeResult.getMillis(operation));
+                    }
+                }
+                writeResults(measured, automation);
+                List<String> superlinear = analyze(measured, automation, result);
+                if (superlinear.isEmpty()) {
+                    automation.log("✅ STEP 9 PASSED - Every action scales at most with exponent " + maxExponent);
+                    result.passed("No per-action cost grows faster than n^" + maxExponent);
+                    passed = true;
+                } else {
+                    throw new IllegalStateException("Superlinear growth: " + String.join("; ", superlinear));
+                }
+            } catch (Exception e) {
+                automation.log(StructuredLogger.Level.ERROR, "❌ STEP 9 FAILED: " + e.getMessage());
+                result.failed(e);
+            }
+        } catch (Exception e) {
+            automation.log(StructuredLogger.Level.ERROR, "❌ Scaling run aborted: " + e.getMessage());
+        } finally {
+            automation.generateTestReport();
+            automation.cleanup();
+        }
+        return passed;
+    }
+
+    private SizeResult measure(QuizAutomation automation, int size) {
+        Map<String, double[]> runs = new LinkedHashMap<>();
+        for (String operation : OPERATIONS) {
+            runs.put(operation, new double[rounds]);
+        }
+        for (int round = 0; round < rounds; round++) {
+            Map<?, ?> raw = (Map<?, ?>) automation.executeScript(BENCHMARK_SCRIPT,
+                automation.getCategory(), automation.getDifficulty(), size, samples);
+            if (((Number) raw.get("navButtons")).intValue() != size || ((Number) raw.get("resultItems")).intValue() != size) {
+                throw new IllegalStateException("Bank of " + size + " not rendered in full: " + raw);
+            }
+            double start = ((Number) raw.get("start")).doubleValue();
+            double navigate = ((Number) raw.get("navigate")).doubleValue();
+            double select = ((Number) raw.get("select")).doubleValue();
+            double submit = ((Number) raw.get("submit")).doubleValue();
+            runs.get("start")[round] = start;
+            runs.get("navigate")[round] = navigate;
+            runs.get("select")[round] = select;
+            runs.get("submit")[round] = submit;
+            // What one user pays to answer every question: per-click costs times n
+            runs.get("full_quiz")[round] = start + size * (select + navigate) + submit;
+        }
+
+        Map<String, Double> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, double[]> run : runs.entrySet()) {
+            double[] values = run.getValue();
+            Arrays.sort(values);
+            medians.put(run.getKey(), values[values.length / 2]);
+        }
+        automation.log(String.format("📏 n=%d: start %.2f ms, navigate %.3f ms, select %.3f ms, submit %.2f ms, full quiz ≈ %.0f ms",
+            size, medians.get("start"), medians.get("navigate"), medians.get("select"), medians.get("submit"),
+            medians.get("full_quiz")));
+        return new SizeResult(size, medians);
+    }
+
+    /**
+     * Fit log(time) against log(n) per operation. The whole-range exponent
+     * is blurred by fixed overhead at small n, so the exponent between the
+     * two largest sizes is checked as well.
+     */
+    List<String> analyze(List<SizeResult> measured, QuizAutomation automation, StepResult result) {
+        List<String> superlinear = new ArrayList<>();
+        if (measured.size() < 2) {
+            automation.log(StructuredLogger.Level.WARN, "⚠️ Need at least two bank sizes to fit a growth curve");
+            return superlinear;
+        }
+        double[] logSize = new double[measured.size()];
+        for (int i = 0; i < measured.size(); i++) {
+            logSize[i] = Math.log(measured.get(i).getSize());
+        }
+        SizeResult last = measured.get(measured.size() - 1);
+        SizeResult previous = measured.get(measured.size() - 2);
+
+        for (String operation : OPERATIONS) {
+            double[] logMillis = new double[measured.size()];
+            for (int i = 0; i < measured.size(); i++) {
+                // Clamp to the timer resolution so zero readings do not produce -infinity
+                logMillis[i] = Math.log(Math.max(measured.get(i).getMillis(operation), 0.005));
+            }
+            LinearFit fit = LinearFit.of(logSize, logMillis);
+            double tailExponent = last.getMillis(operation) < MIN_TAIL_MILLIS ? Double.NaN
+                : Math.log(last.getMillis(operation) / Math.max(previous.getMillis(operation), 0.005))
+                    / Math.log((double) last.getSize() / previous.getSize());
+            boolean flagged = fit.getSlope() > maxExponent || tailExponent > maxExponent;
+
+            String line = String.format("%s grows as n^%.2f (R² %.2f), n^%.2f between n=%d and n=%d",
+                operation, fit.getSlope(), fit.getRSquared(), tailExponent, previous.getSize(), last.getSize());
+            result.addMetric(operation + " exponent", fit.getSlope());
+            if (!flagged) {
+                automation.log("📈 " + line);
+            } else if ("full_quiz".equals(operation)) {
+                // Linear per-click costs already make a full run quadratic; flagged, but not a failure
+                automation.log(StructuredLogger.Level.WARN, "⚠️ " + line + " - per-click costs grow with n");
+            } else {
+                automation.log(StructuredLogger.Level.ERROR, "❌ " + line);
+                superlinear.add(line);
+            }
+        }
+        return superlinear;
+    }
+
+    private static void writeResults(List<SizeResult> measured, QuizAutomation automation) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path file = Paths.get(METRICS_FOLDER, "scaling_" + timestamp + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("questions,start_ms,navigate_ms,select_ms,submit_ms,full_quiz_ms\n");
+                for (SizeResult sizeResult : measured) {
+                    writer.write(Integer.toString(sizeResult.getSize()));
+                    for (String operation : OPERATIONS) {
+                        writer.write(String.format(",%.3f", sizeResult.getMillis(operation)));
+                    }
+                    writer.write("\n");
+                }
+            }
+            automation.log("📈 Scaling results exported: " + file);
+        } catch (IOException e) {
+            automation.log(StructuredLogger.Level.WARN, "⚠️ Failed to export scaling results: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the last few seconds of the page as JPEG frames streamed by
+ * Page.startScreencast, in memory only. Nothing touches the disk unless
+ * {@link #dump} is called, which the steps do when they fail; green runs
+ * therefore write no images at all.
+ *
+ * <pre>
+ *   -Dquiz.screencast=true
+ *   -Dquiz.screencast.seconds=10      window kept in memory
+ *   -Dquiz.screencast.maxFrames=300   hard cap on buffered frames
+ *   -Dquiz.screencast.quality=60      JPEG quality
+ * </pre>
+ */
+public class ScreencastRecorder {
+
+    static final int DEFAULT_WINDOW_SECONDS = 10;
+    static final int DEFAULT_MAX_FRAMES = 300;
+    static final int DEFAULT_QUALITY = 60;
+
+    // One recorder per browser session, so pooled sessions do not stack up frame listeners
+    private static final Map<WebDriver, ScreencastRecorder> RECORDERS = new WeakHashMap<>();
+
+    private static final class Frame {
+        private final long receivedMillis;
+        private final byte[] jpeg;
+
+        Frame(long receivedMillis, byte[] jpeg) {
+            this.receivedMillis = receivedMillis;
+            this.jpeg = jpeg;
+        }
+    }
+
+    private final DevTools devTools;
+    private final long windowMillis;
+    private final int maxFrames;
+    private final int quality;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private volatile boolean recording;
+    private long bufferedBytes;
+
+    private ScreencastRecorder(WebDriver rawDriver, long windowMillis, int maxFrames, int quality) {
+        if (!(rawDriver instanceof HasDevTools)) {
+            throw new UnsupportedOperationException("Browser session does not expose the DevTools protocol");
+        }
+        this.windowMillis = windowMillis;
+        this.maxFrames = Math.max(1, maxFrames);
+        this.quality = quality;
+        devTools = ((HasDevTools) rawDriver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(new Event<>("Page.screencastFrame", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+            this::onFrame);
+    }
+
+    /**
+     * The recorder of a session, configured from system properties, or null
+     * when -Dquiz.screencast is not set.
+     */
+    public static ScreencastRecorder forSession(WebDriver rawDriver) {
+        if (!Boolean.getBoolean("quiz.screencast")) {
+            return null;
+        }
+        synchronized (RECORDERS) {
+            return RECORDERS.computeIfAbsent(rawDriver, driver -> new ScreencastRecorder(driver,
+                Integer.getInteger("quiz.screencast.seconds", DEFAULT_WINDOW_SECONDS) * 1000L,
+                Integer.getInteger("quiz.screencast.maxFrames", DEFAULT_MAX_FRAMES),
+                Integer.getInteger("quiz.screencast.quality", DEFAULT_QUALITY)));
+        }
+    }
+
+    public void start() {
+        clear();
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("format", "jpeg");
+        parameters.put("quality", quality);
+        parameters.put("everyNthFrame", 1);
+        recording = true;
+        devTools.send(new Command<Void>("Page.enable", new HashMap<>()));
+        devTools.send(new Command<Void>("Page.startScreencast", parameters));
+    }
+
+    public void stop() {
+        if (recording) {
+            recording = false;
+            devTools.send(new Command<Void>("Page.stopScreencast", new HashMap<>()));
+        }
+    }
+
+    public synchronized void clear() {
+        frames.clear();
+        bufferedBytes = 0;
+    }
+
+    public synchronized int getFrameCount() {
+        return frames.size();
+    }
+
+    public synchronized long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    private void onFrame(Map<String, Object> params) {
+        // Chrome sends the next frame only after this one is acknowledged
+        devTools.send(new Command<Void>("Page.screencastFrameAck",
+            Collections.singletonMap("sessionId", params.get("sessionId"))).doesNotSendResponse());
+        if (!recording || !(params.get("data") instanceof String)) {
+            return;
+        }
+        byte[] jpeg = Base64.getDecoder().decode((String) params.get("data"));
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            frames.addLast(new Frame(now, jpeg));
+            bufferedBytes += jpeg.length;
+            while (frames.size() > maxFrames || now - frames.peekFirst().receivedMillis > windowMillis) {
+                bufferedBytes -= frames.removeFirst().jpeg.length;
+            }
+        }
+    }
+
+    /**
+     * Write the buffered frames to folder/label_timestamp/ as numbered JPEGs
+     * plus a frames.csv with each frame's offset before the failure.
+     *
+     * @return the directory written, or null when the buffer was empty
+     */
+    public Path dump(String folder, String label) throws IOException {
+        List<Frame> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(frames);
+        }
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path directory = Paths.get(folder, label + "_" + timestamp);
+        Files.createDirectories(directory);
+        long end = System.currentTimeMillis();
+        try (Writer index = Files.newBufferedWriter(directory.resolve("frames.csv"), StandardCharsets.UTF_8)) {
+            index.write("frame,file,ms_before_failure,bytes\n");
+            for (int i = 0; i < snapshot.size(); i++) {
+                Frame frame = snapshot.get(i);
+                String file = String.format("frame_%04d.jpg", i + 1);
+                Files.write(directory.resolve(file), frame.jpeg);
+                index.write((i + 1) + "," + file + "," + (end - frame.receivedMillis) + "," + frame.jpeg.length + "\n");
+            }
+        }
+        return directory;
+    }
+}
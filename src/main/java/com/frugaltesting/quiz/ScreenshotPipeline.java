@@ -0,0 +1,187 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Background screenshot writer.
+ * The test thread only fetches the raw PNG bytes; identical consecutive
+ * frames are skipped (except failure captures, which are always kept) and
+ * the rest are written by a dedicated I/O thread through a bounded queue
+ * (producers block when the writer falls behind).
+ */
+public class ScreenshotPipeline implements AutoCloseable {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 16;
+    private static final Frame END_OF_STREAM = new Frame(null, null);
+
+    private final Path folder;
+    private final Consumer<String> logger;
+    private final BlockingQueue<Frame> queue;
+    private final Thread writerThread;
+
+    private final AtomicInteger nextNumber = new AtomicInteger(1);
+    private final AtomicInteger framesWritten = new AtomicInteger();
+    private final AtomicInteger framesSkipped = new AtomicInteger();
+    private final AtomicLong captureNanos = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+
+    // Guarded by this, like the de-duplication state, so no frame is queued behind END_OF_STREAM
+    private long lastChecksum = -1;
+    private byte[] lastFrame;
+    private boolean closed;
+
+    private static final class Frame {
+        private final String filename;
+        private final byte[] png;
+
+        Frame(String filename, byte[] png) {
+            this.filename = filename;
+            this.png = png;
+        }
+    }
+
+    public ScreenshotPipeline(String folder, Consumer<String> logger) {
+        this(folder, logger, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ScreenshotPipeline(String folder, Consumer<String> logger, int queueCapacity) {
+        this.folder = Paths.get(folder);
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::drain, "screenshot-writer-" + folder);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Grab a frame from the browser and hand it to the writer thread.
+     *
+     * @return the file name the frame will be written to, or null when it was
+     * identical to the previous frame and skipped
+     * @throws IllegalStateException when the pipeline has been closed
+     */
+    public String capture(TakesScreenshot source, String description) throws InterruptedException {
+        return capture(source, description, false);
+    }
+
+    /**
+     * Same as {@link #capture(TakesScreenshot, String)}, but with
+     * {@code keepDuplicate} the frame is written even when it matches the
+     * previous one; a failure screenshot must exist even if nothing moved.
+     */
+    public String capture(TakesScreenshot source, String description, boolean keepDuplicate)
+            throws InterruptedException {
+        checkOpen();
+        long start = System.nanoTime();
+        try {
+            byte[] png = source.getScreenshotAs(OutputType.BYTES);
+            return submit(png, description, keepDuplicate);
+        } finally {
+            captureNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Screenshot pipeline already closed");
+        }
+    }
+
+    // Numbering and de-duplication happen under one lock so file numbers follow submission order
+    private synchronized String submit(byte[] png, String description, boolean keepDuplicate)
+            throws InterruptedException {
+        checkOpen();
+        CRC32 crc = new CRC32();
+        crc.update(png, 0, png.length);
+        long checksum = crc.getValue();
+        if (!keepDuplicate && checksum == lastChecksum && Arrays.equals(png, lastFrame)) {
+            framesSkipped.incrementAndGet();
+            return null;
+        }
+        lastChecksum = checksum;
+        lastFrame = png;
+
+        String filename = String.format("%02d_%s.png",
+            nextNumber.getAndIncrement(),
+            description.replaceAll("[^a-zA-Z0-9]", "_"));
+        queue.put(new Frame(filename, png));
+        return filename;
+    }
+
+    private void drain() {
+        while (true) {
+            Frame frame;
+            try {
+                frame = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (frame == END_OF_STREAM) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                Files.write(folder.resolve(frame.filename), frame.png);
+                framesWritten.incrementAndGet();
+            } catch (IOException e) {
+                logger.accept("Screenshot failed: " + frame.filename + " - " + e.getMessage());
+            } finally {
+                writeNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Wait for every queued frame to reach disk and stop the writer thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            queue.put(END_OF_STREAM);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Frames accepted for writing (numbered), independent of I/O progress. */
+    public int getFramesAccepted() {
+        return nextNumber.get() - 1;
+    }
+
+    public int getFramesWritten() {
+        return framesWritten.get();
+    }
+
+    public int getFramesSkipped() {
+        return framesSkipped.get();
+    }
+
+    public long getCaptureMillis() {
+        return captureNanos.get() / 1_000_000;
+    }
+
+    public long getWriteMillis() {
+        return writeNanos.get() / 1_000_000;
+    }
+}
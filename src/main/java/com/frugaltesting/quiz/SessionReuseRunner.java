@@ -0,0 +1,85 @@
+package com.frugaltesting.quiz;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many quiz passes back to back in one warm browser session.
+ * Between passes the quiz is reset through #restartBtn (or an in-page reset)
+ * instead of starting a new ChromeDriver and reloading the page. The session
+ * is only recycled after a fixed number of passes or after a failed pass.
+ */
+public class SessionReuseRunner {
+
+    static final int DEFAULT_PASSES = 10;
+    static final int DEFAULT_RECYCLE_AFTER = 25;
+
+    private final int passes;
+    private final int recycleAfter;
+
+    public SessionReuseRunner(int passes, int recycleAfter) {
+        this.passes = Math.max(1, passes);
+        this.recycleAfter = Math.max(1, recycleAfter);
+    }
+
+    /**
+     * @return true when every pass succeeded
+     */
+    public boolean run(String quizURL) {
+        QuizAutomation automation = new QuizAutomation();
+        // Steps 1-6 per pass; the passes share one step list, so a single history record would mix them
+        automation.planSteps(1, 2, 3, 4, 5, 6);
+        automation.setRecordHistory(false);
+        int failures = 0;
+        int sessions = 0;
+        int passesOnSession = 0;
+        long startupNanos = 0;
+        long passNanos = 0;
+
+        try {
+            for (int pass = 1; pass <= passes; pass++) {
+                if (automation.hasDriver() && passesOnSession >= recycleAfter) {
+                    automation.log("♻️ Recycling browser session after " + passesOnSession + " passes");
+                    automation.quitDriver();
+                }
+
+                boolean cold = !automation.hasDriver();
+                if (cold) {
+                    long start = System.nanoTime();
+                    automation.initializeDriver();
+                    startupNanos += System.nanoTime() - start;
+                    sessions++;
+                    passesOnSession = 0;
+                }
+
+                automation.log("\n🔁 PASS " + pass + "/" + passes + (cold ? " (cold session)" : " (warm session)"));
+                long start = System.nanoTime();
+                try {
+                    automation.step1_VerifyLandingPage(cold ? quizURL : null);
+                    automation.step2_StartQuiz();
+                    automation.step3_AnswerQuestions();
+                    automation.step4_SubmitQuiz();
+                    automation.step5_VerifyResults();
+                    automation.step6_RestartQuiz();
+                    passesOnSession++;
+                } catch (Exception e) {
+                    failures++;
+                    automation.log(StructuredLogger.Level.ERROR, "❌ Pass " + pass + " failed, recycling session: " + e.getMessage());
+                    automation.quitDriver();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    passNanos += elapsed;
+                    automation.log("⏱️ Pass " + pass + " took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+                }
+            }
+
+            automation.log("\n📊 Warm session summary: " + passes + " passes, " + failures + " failed, "
+                + sessions + " browser session(s)");
+            automation.log("⏱️ Browser startup " + TimeUnit.NANOSECONDS.toMillis(startupNanos) + " ms total, "
+                + "average pass " + TimeUnit.NANOSECONDS.toMillis(passNanos / passes) + " ms");
+            automation.generateTestReport();
+        } finally {
+            automation.cleanup();
+        }
+        return failures == 0;
+    }
+}
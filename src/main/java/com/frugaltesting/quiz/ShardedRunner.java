@@ -0,0 +1,395 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the category x difficulty (x answer plan) scenarios over several
+ * RemoteWebDriver endpoints: Selenium Grid nodes or standalone servers.
+ * Scenarios are dealt out longest-first by their median duration in the run
+ * history, always to the node with the least projected work, so shards end
+ * at about the same time. A node that runs dry takes the longest scenario
+ * still waiting elsewhere. When a node stops answering, its current and
+ * queued scenarios move to the surviving nodes. All results merge into one
+ * log, and the screenshots land in the usual per-combination folders.
+ *
+ * <pre>
+ *   -Dquiz.mode=shard
+ *   -Dquiz.grid.nodes=http://node-a:4444,http://node-b:4444
+ *   -Dquiz.shard.plans=correct,wrong     optional; one scenario per plan
+ * </pre>
+ *
+ * Remote browsers must be able to reach the quiz URL; start the embedded
+ * server with -Dquiz.server.bind=0.0.0.0 -Dquiz.server.publicHost=&lt;this host&gt;.
+ */
+public class ShardedRunner {
+
+    static final long DEFAULT_ESTIMATE_MILLIS = 30_000;
+    // A scenario runs the standard steps 1-7
+    private static final int LAST_SCENARIO_STEP = 7;
+    // A scenario that keeps landing on dying nodes is given up after this many tries
+    static final int MAX_ATTEMPTS = 3;
+    private static final int STATUS_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * One unit of work: a quiz combination, optionally with an answer plan.
+     */
+    static final class Scenario {
+        private final String category;
+        private final String difficulty;
+        private final String plan;
+        private final long estimateMillis;
+        private int attempts;
+
+        Scenario(String category, String difficulty, String plan, long estimateMillis) {
+            this.category = category;
+            this.difficulty = difficulty;
+            this.plan = plan;
+            this.estimateMillis = estimateMillis;
+        }
+
+        String getLabel() {
+            return category + "/" + difficulty + (plan == null ? "" : "/" + plan);
+        }
+    }
+
+    private static final class Node {
+        private final URL url;
+        private final Deque<Scenario> queue = new ArrayDeque<>();
+        private volatile boolean alive = true;
+        private WebDriver driver;
+        private int completed;
+        private long busyMillis;
+
+        Node(URL url) {
+            this.url = url;
+        }
+
+        long remainingMillis() {
+            return queue.stream().mapToLong(scenario -> scenario.estimateMillis).sum();
+        }
+    }
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<String> plans;
+    private final LaunchProfile profile = LaunchProfile.fromProperty(LaunchProfile.HEADLESS_FAST);
+    private final List<QuizMatrixRunner.MatrixResult> results = Collections.synchronizedList(new ArrayList<>());
+    // Scenarios currently running; an idle node waits while any are, since a node death may hand it work
+    private int inFlight;
+
+    public ShardedRunner(List<URL> nodeUrls, List<String> plans) {
+        if (nodeUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one RemoteWebDriver node is required");
+        }
+        for (URL url : nodeUrls) {
+            nodes.add(new Node(url));
+        }
+        this.plans = plans;
+    }
+
+    public static ShardedRunner fromProperties() {
+        String nodeList = System.getProperty("quiz.grid.nodes", "");
+        List<URL> urls = new ArrayList<>();
+        for (String node : nodeList.split(",")) {
+            if (!node.trim().isEmpty()) {
+                try {
+                    urls.add(new URL(node.trim()));
+                } catch (MalformedURLException e) {
+                    throw new IllegalArgumentException("Invalid node URL in quiz.grid.nodes: " + node, e);
+                }
+            }
+        }
+        String planList = System.getProperty("quiz.shard.plans");
+        List<String> plans = planList == null ? Collections.singletonList(null) : Arrays.asList(planList.split(","));
+        return new ShardedRunner(urls, plans);
+    }
+
+    /**
+     * @return true when every scenario passed
+     */
+    public boolean run(String quizURL) {
+        if (quizURL.startsWith("file:") || quizURL.contains("://127.0.0.1") || quizURL.contains("://localhost")) {
+            System.out.println("⚠️ " + quizURL + " is only reachable from this machine; remote nodes will fail to load it");
+        }
+        List<Scenario> scenarios = scenarios(historicalMedians());
+        assign(scenarios);
+        System.out.println("🛰️ Sharding " + scenarios.size() + " scenarios over " + nodes.size() + " nodes");
+        for (Node node : nodes) {
+            System.out.println("   " + node.url + ": " + node.queue.size() + " scenarios, ~"
+                + node.remainingMillis() / 1000 + " s projected");
+        }
+
+        long wallStart = System.nanoTime();
+        List<Thread> workers = new ArrayList<>();
+        for (Node node : nodes) {
+            Thread worker = new Thread(() -> drive(node, quizURL), "shard-" + node.url.getHost() + ":" + node.url.getPort());
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStart);
+
+        List<QuizMatrixRunner.MatrixResult> merged;
+        synchronized (results) {
+            merged = new ArrayList<>(results);
+        }
+        merged.sort(Comparator.comparing(QuizMatrixRunner.MatrixResult::getLabel));
+        StringBuilder sessions = new StringBuilder(nodes.size() + " RemoteWebDriver nodes (" + profile.getId() + " profile)");
+        for (Node node : nodes) {
+            String line = node.url + (node.alive ? "" : " [DIED]") + ": " + node.completed + " scenarios, "
+                + node.busyMillis + " ms busy";
+            sessions.append("\n  ").append(line);
+            System.out.println("🛰️ " + line);
+        }
+        QuizMatrixRunner.writeMergedLog("shard", sessions.toString(), merged, wallMillis);
+        return merged.size() == scenarios.size() && merged.stream().allMatch(QuizMatrixRunner.MatrixResult::isPassed);
+    }
+
+    // Median duration of steps 1-7 of passed runs per combination. The total would count soak cycles
+    // and scaling sweeps (steps 8 and 9), which a shard scenario never runs
+    private static Map<String, Long> historicalMedians() {
+        Map<String, List<Float>> durations = new HashMap<>();
+        try {
+            new RunHistoryStore(RunHistoryStore.DEFAULT_PATH).scan(record -> {
+                if (record.getOutcome() != RunHistoryStore.OUTCOME_PASSED || record.getCategory() == null
+                        || record.getDifficulty() == null) {
+                    return;
+                }
+                float millis = 0;
+                boolean anyStep = false;
+                for (int step = 1; step <= LAST_SCENARIO_STEP; step++) {
+                    if (!Float.isNaN(record.getStepMillis(step))) {
+                        millis += record.getStepMillis(step);
+                        anyStep = true;
+                    }
+                }
+                if (anyStep) {
+                    durations.computeIfAbsent(record.getCategory() + "/" + record.getDifficulty(), key -> new ArrayList<>())
+                        .add(millis);
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("⚠️ Run history unavailable, using default estimates: " + e.getMessage());
+        }
+        Map<String, Long> medians = new HashMap<>();
+        for (Map.Entry<String, List<Float>> entry : durations.entrySet()) {
+            List<Float> values = entry.getValue();
+            Collections.sort(values);
+            medians.put(entry.getKey(), (long) (float) values.get(values.size() / 2));
+        }
+        return medians;
+    }
+
+    private List<Scenario> scenarios(Map<String, Long> medians) {
+        // Combinations never run before get the average of the known ones
+        long fallback = medians.isEmpty() ? DEFAULT_ESTIMATE_MILLIS
+            : (long) medians.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_ESTIMATE_MILLIS);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String category : QuizMatrixRunner.CATEGORIES) {
+            for (String difficulty : QuizMatrixRunner.DIFFICULTIES) {
+                long estimate = medians.getOrDefault(category + "/" + difficulty, fallback);
+                for (String plan : plans) {
+                    scenarios.add(new Scenario(category, difficulty, plan == null ? null : plan.trim(), estimate));
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    // Longest processing time first: each scenario goes to the least loaded live node
+    private synchronized void assign(List<Scenario> scenarios) {
+        List<Scenario> ordered = new ArrayList<>(scenarios);
+        ordered.sort(Comparator.comparingLong((Scenario scenario) -> scenario.estimateMillis).reversed());
+        for (Scenario scenario : ordered) {
+            Node target = null;
+            for (Node node : nodes) {
+                if (node.alive && (target == null || node.remainingMillis() < target.remainingMillis())) {
+                    target = node;
+                }
+            }
+            if (target == null) {
+                results.add(new QuizMatrixRunner.MatrixResult(scenario.category, scenario.difficulty, scenario.plan,
+                    false, 0, "No live node left to run it", null, new ArrayList<>()));
+            } else {
+                target.queue.addLast(scenario);
+            }
+        }
+    }
+
+    // Own queue first; an idle node takes the longest scenario from the busiest live node
+    private synchronized Scenario next(Node node) {
+        while (node.alive) {
+            Scenario scenario = node.queue.pollFirst();
+            if (scenario == null) {
+                Node busiest = null;
+                for (Node other : nodes) {
+                    if (other != node && other.alive && !other.queue.isEmpty()
+                            && (busiest == null || other.remainingMillis() > busiest.remainingMillis())) {
+                        busiest = other;
+                    }
+                }
+                scenario = busiest == null ? null : busiest.queue.pollFirst();
+            }
+            if (scenario != null) {
+                inFlight++;
+                return scenario;
+            }
+            if (inFlight == 0) {
+                return null;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void finished() {
+        inFlight--;
+        notifyAll();
+    }
+
+    private synchronized void markDead(Node node, Scenario current) {
+        node.alive = false;
+        List<Scenario> orphaned = new ArrayList<>();
+        orphaned.add(current);
+        orphaned.addAll(node.queue);
+        node.queue.clear();
+        List<Scenario> retry = new ArrayList<>();
+        for (Scenario scenario : orphaned) {
+            if (++scenario.attempts >= MAX_ATTEMPTS) {
+                results.add(new QuizMatrixRunner.MatrixResult(scenario.category, scenario.difficulty, scenario.plan,
+                    false, 0, "Gave up after " + scenario.attempts + " node failures", null, new ArrayList<>()));
+            } else {
+                retry.add(scenario);
+            }
+        }
+        System.out.println("☠️ Node " + node.url + " is gone - reassigning " + retry.size() + " scenario(s)");
+        assign(retry);
+    }
+
+    private void drive(Node node, String quizURL) {
+        try {
+            Scenario scenario;
+            while ((scenario = next(node)) != null) {
+                long start = System.nanoTime();
+                QuizMatrixRunner.MatrixResult result = runScenario(node, scenario, quizURL);
+                if (result == null) {
+                    markDead(node, scenario);
+                    finished();
+                    return;
+                }
+                results.add(result);
+                node.completed++;
+                node.busyMillis += TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                finished();
+            }
+        } finally {
+            if (node.driver != null) {
+                quitQuietly(node.driver);
+                node.driver = null;
+            }
+        }
+    }
+
+    /**
+     * Run one scenario on the node's session.
+     *
+     * @return the result, or null when the scenario failed because the node died
+     */
+    private QuizMatrixRunner.MatrixResult runScenario(Node node, Scenario scenario, String quizURL) {
+        String folder = "test-screenshots/" + scenario.category + "_" + scenario.difficulty
+            + (scenario.plan == null ? "" : "_" + scenario.plan.replaceAll("[^a-zA-Z0-9]", "_")) + "/";
+        QuizAutomation context = new QuizAutomation(scenario.category, scenario.difficulty, folder);
+        long start = System.nanoTime();
+        boolean passed = false;
+        String failure = null;
+
+        try {
+            if (node.driver == null) {
+                node.driver = new RemoteWebDriver(node.url, profile.chromeOptions(null));
+            }
+            context.attachDriver(node.driver);
+            context.log("🛰️ Running on node " + node.url);
+            if (scenario.plan != null) {
+                context.setAnswerPlan(AnswerPlan.parse(scenario.plan));
+            }
+            context.runAllSteps(quizURL);
+            passed = true;
+        } catch (Exception e) {
+            failure = e.getMessage();
+            context.log(StructuredLogger.Level.ERROR, "Critical Error: " + failure);
+        }
+
+        if (!passed && !isReachable(node.url)) {
+            context.log("☠️ Node " + node.url + " stopped answering; the scenario will run elsewhere");
+            context.cleanup();
+            node.driver = null;
+            return null;
+        }
+        context.recordRunHistory();
+        context.cleanup();
+        if (!passed && node.driver != null) {
+            // A failed scenario may leave the session unusable; the next one starts a fresh session
+            quitQuietly(node.driver);
+            node.driver = null;
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println((passed ? "✅ " : "❌ ") + scenario.getLabel() + " finished on " + node.url + " in "
+            + durationMillis + " ms (estimated " + scenario.estimateMillis + " ms)");
+        StructuredLogger logger = context.getLogger();
+        return new QuizMatrixRunner.MatrixResult(scenario.category, scenario.difficulty, scenario.plan, passed,
+            durationMillis, failure, logger.getLogFile(), logger.getTail());
+    }
+
+    // Both Grid and standalone servers answer GET status under their base path (e.g. /wd/hub/status)
+    private static boolean isReachable(URL node) {
+        try {
+            String base = node.toString().endsWith("/") ? node.toString() : node + "/";
+            HttpURLConnection connection = (HttpURLConnection) new URL(new URL(base), "status").openConnection();
+            connection.setConnectTimeout(STATUS_TIMEOUT_MILLIS);
+            connection.setReadTimeout(STATUS_TIMEOUT_MILLIS);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("⚠️ Error closing remote session: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.frugaltesting.quiz;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running soak test: repeats start -> answer -> submit -> restart
+ * thousands of times in one browser session and samples the page's memory
+ * counters over the DevTools protocol every N cycles. A linear fit over the
+ * samples flags heap, DOM node or event listener counts that keep climbing.
+ */
+public class SoakRunner {
+
+    static final int DEFAULT_CYCLES = 2000;
+    static final int DEFAULT_SAMPLE_EVERY = 100;
+
+    // Growth per cycle above which a sustained trend counts as a leak
+    static final double DEFAULT_MAX_HEAP_BYTES_PER_CYCLE = 512;
+    static final double DEFAULT_MAX_LISTENERS_PER_CYCLE = 0.05;
+    static final double DEFAULT_MAX_NODES_PER_CYCLE = 0.1;
+    // Below this R² the samples are treated as noise around a flat line
+    static final double MIN_TREND_FIT = 0.5;
+
+    private static final String METRICS_FOLDER = "test-metrics/";
+
+    private final int cycles;
+    private final int sampleEvery;
+    private final double maxHeapBytesPerCycle;
+    private final double maxListenersPerCycle;
+    private final double maxNodesPerCycle;
+
+    /**
+     * Browser counters read from Performance.getMetrics after a forced GC.
+     */
+    public static final class Sample {
+        private final int cycle;
+        private final long elapsedMillis;
+        private final double heapUsedBytes;
+        private final double nodes;
+        private final double listeners;
+        private final double layoutCount;
+        private final int activeIntervals;
+
+        Sample(int cycle, long elapsedMillis, Map<String, Double> metrics, int activeIntervals) {
+            this.cycle = cycle;
+            this.elapsedMillis = elapsedMillis;
+            this.heapUsedBytes = metrics.getOrDefault("JSHeapUsedSize", 0.0);
+            this.nodes = metrics.getOrDefault("Nodes", 0.0);
+            this.listeners = metrics.getOrDefault("JSEventListeners", 0.0);
+            this.layoutCount = metrics.getOrDefault("LayoutCount", 0.0);
+            this.activeIntervals = activeIntervals;
+        }
+
+        public int getCycle() { return cycle; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public double getHeapUsedBytes() { return heapUsedBytes; }
+        public double getNodes() { return nodes; }
+        public double getListeners() { return listeners; }
+        public double getLayoutCount() { return layoutCount; }
+        public int getActiveIntervals() { return activeIntervals; }
+    }
+
+    public SoakRunner(int cycles, int sampleEvery) {
+        this(cycles, sampleEvery,
+            doubleProperty("quiz.soak.maxHeapBytesPerCycle", DEFAULT_MAX_HEAP_BYTES_PER_CYCLE),
+            doubleProperty("quiz.soak.maxListenersPerCycle", DEFAULT_MAX_LISTENERS_PER_CYCLE),
+            doubleProperty("quiz.soak.maxNodesPerCycle", DEFAULT_MAX_NODES_PER_CYCLE));
+    }
+
+    public SoakRunner(int cycles, int sampleEvery, double maxHeapBytesPerCycle,
+                      double maxListenersPerCycle, double maxNodesPerCycle) {
+        this.cycles = Math.max(1, cycles);
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.maxHeapBytesPerCycle = maxHeapBytesPerCycle;
+        this.maxListenersPerCycle = maxListenersPerCycle;
+        this.maxNodesPerCycle = maxNodesPerCycle;
+    }
+
+    /**
+     * @return true when the soak finished without a detected leak
+     */
+    public boolean run(String quizURL) {
+        QuizAutomation automation = new QuizAutomation();
+        boolean passed = false;
+
+        try {
+            automation.initializeDriver();
+
+            // One fully verified pass first, so the soak starts from a known-good page
+            automation.runAllSteps(quizURL);
+
+            StepResult result = automation.beginStep(8, "Soak Leak Detection");
+            automation.log("\n==========================================");
+            automation.log("STEP 8: SOAK " + cycles + " CYCLES (sample every " + sampleEvery + ")");
+            automation.log("==========================================");
+
+            try {
+                List<Sample> samples = soak(automation);
+                writeSamples(samples, automation);
+                List<String> leaks = analyze(samples, automation);
+                if (leaks.isEmpty()) {
+                    automation.log("✅ STEP 8 PASSED - No sustained growth over " + cycles + " cycles");
+                    result.passed("No sustained heap, node or listener growth over " + cycles + " cycles");
+                    passed = true;
+                } else {
+                    throw new IllegalStateException("Sustained growth detected: " + String.join("; ", leaks));
+                }
+            } catch (Exception e) {
+                automation.log(StructuredLogger.Level.ERROR, "❌ STEP 8 FAILED: " + e.getMessage());
+                result.failed(e);
+            }
+        } catch (Exception e) {
+            automation.log(StructuredLogger.Level.ERROR, "❌ Soak run aborted: " + e.getMessage());
+        } finally {
+            automation.generateTestReport();
+            automation.cleanup();
+        }
+        return passed;
+    }
+
+    private List<Sample> soak(QuizAutomation automation) {
+        automation.executeCdpCommand("Performance.enable", Collections.emptyMap());
+        List<Sample> samples = new ArrayList<>(cycles / sampleEvery + 2);
+        long start = System.nanoTime();
+        // Worst interval count seen since the previous sample
+        int activeIntervals = 0;
+
+        samples.add(sample(automation, 0, start, 0));
+        for (int cycle = 1; cycle <= cycles; cycle++) {
+            activeIntervals = Math.max(activeIntervals, automation.runQuizCycle(0));
+            if (cycle % sampleEvery == 0 || cycle == cycles) {
+                Sample sample = sample(automation, cycle, start, activeIntervals);
+                samples.add(sample);
+                automation.log(String.format("🧪 Cycle %d: heap %.1f KB, %d nodes, %d listeners, %d layouts, %d interval(s)",
+                    cycle, sample.getHeapUsedBytes() / 1024, (long) sample.getNodes(), (long) sample.getListeners(),
+                    (long) sample.getLayoutCount(), activeIntervals));
+                activeIntervals = 0;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        automation.log("⏱️ " + cycles + " cycles in " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms ("
+            + String.format("%.2f", elapsed / 1e6 / cycles) + " ms per cycle)");
+        return samples;
+    }
+
+    // Collect garbage first so the heap figure reflects retained memory, not pending garbage
+    private static Sample sample(QuizAutomation automation, int cycle, long startNanos, int activeIntervals) {
+        automation.executeCdpCommand("HeapProfiler.collectGarbage", Collections.emptyMap());
+        Map<String, Object> response = automation.executeCdpCommand("Performance.getMetrics", Collections.emptyMap());
+        Map<String, Double> metrics = new HashMap<>();
+        for (Object entry : (List<?>) response.get("metrics")) {
+            Map<?, ?> metric = (Map<?, ?>) entry;
+            metrics.put((String) metric.get("name"), ((Number) metric.get("value")).doubleValue());
+        }
+        return new Sample(cycle, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), metrics, activeIntervals);
+    }
+
+    /**
+     * Fit a line through the samples (skipping the warm-up baseline) and
+     * return a description of every counter whose slope is both steep and
+     * consistent.
+     */
+    List<String> analyze(List<Sample> samples, QuizAutomation automation) {
+        List<String> leaks = new ArrayList<>();
+        int leakedIntervals = samples.stream().mapToInt(Sample::getActiveIntervals).max().orElse(0);
+        if (leakedIntervals > 0) {
+            automation.log(StructuredLogger.Level.ERROR, "❌ Timers: " + leakedIntervals + " interval(s) still running after restart");
+            leaks.add(leakedIntervals + " timer interval(s) still running after restart");
+        }
+        // The first sample is taken before any cycle ran; JIT and caches are still cold
+        List<Sample> steady = samples.size() > 3 ? samples.subList(1, samples.size()) : samples;
+        if (steady.size() < 3) {
+            automation.log(StructuredLogger.Level.WARN, "⚠️ Only " + steady.size() + " sample(s); increase cycles or lower the sample interval");
+            return leaks;
+        }
+
+        double[] x = new double[steady.size()];
+        double[] heap = new double[steady.size()];
+        double[] nodes = new double[steady.size()];
+        double[] listeners = new double[steady.size()];
+        double[] layouts = new double[steady.size()];
+        for (int i = 0; i < steady.size(); i++) {
+            Sample sample = steady.get(i);
+            x[i] = sample.getCycle();
+            heap[i] = sample.getHeapUsedBytes();
+            nodes[i] = sample.getNodes();
+            listeners[i] = sample.getListeners();
+            layouts[i] = sample.getLayoutCount();
+        }
+
+        check("JS heap", LinearFit.of(x, heap), maxHeapBytesPerCycle, " bytes", automation, leaks);
+        check("DOM nodes", LinearFit.of(x, nodes), maxNodesPerCycle, "", automation, leaks);
+        check("Event listeners", LinearFit.of(x, listeners), maxListenersPerCycle, "", automation, leaks);
+
+        // Layout count is cumulative by definition; reported for context only
+        automation.log(String.format("📐 Layouts: %.1f per cycle", LinearFit.of(x, layouts).getSlope()));
+        return leaks;
+    }
+
+    private static void check(String name, LinearFit fit, double maxPerCycle, String unit,
+                              QuizAutomation automation, List<String> leaks) {
+        boolean leaking = fit.getSlope() > maxPerCycle && fit.getRSquared() >= MIN_TREND_FIT;
+        String line = String.format("%s: %+.3f%s per cycle (R² %.2f, limit %.3f)",
+            name, fit.getSlope(), unit, fit.getRSquared(), maxPerCycle);
+        if (leaking) {
+            automation.log(StructuredLogger.Level.ERROR, "❌ " + line);
+            leaks.add(line);
+        } else {
+            automation.log("📈 " + line);
+        }
+    }
+
+    private static void writeSamples(List<Sample> samples, QuizAutomation automation) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path file = Paths.get(METRICS_FOLDER, "soak_" + timestamp + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("cycle,elapsed_ms,js_heap_used_bytes,nodes,js_event_listeners,layout_count,active_intervals\n");
+                for (Sample sample : samples) {
+                    writer.write(sample.getCycle() + "," + sample.getElapsedMillis() + ","
+                        + (long) sample.getHeapUsedBytes() + "," + (long) sample.getNodes() + ","
+                        + (long) sample.getListeners() + "," + (long) sample.getLayoutCount() + ","
+                        + sample.getActiveIntervals() + "\n");
+                }
+            }
+            automation.log("📈 Soak samples exported: " + file);
+        } catch (IOException e) {
+            automation.log(StructuredLogger.Level.WARN, "⚠️ Failed to export soak samples: " + e.getMessage());
+        }
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,110 @@
+package com.frugaltesting.quiz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome and timing of one executed test step.
+ */
+public class StepResult {
+
+    public enum Status { NOT_RUN, RUNNING, PASSED, FAILED }
+
+    /**
+     * Time spent on a single question inside a step.
+     */
+    public static final class QuestionTiming {
+        private final int questionNumber;
+        private final long nanos;
+
+        QuestionTiming(int questionNumber, long nanos) {
+            this.questionNumber = questionNumber;
+            this.nanos = nanos;
+        }
+
+        public int getQuestionNumber() { return questionNumber; }
+        public long getNanos() { return nanos; }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    private final int stepNumber;
+    private final String name;
+    private Status status = Status.NOT_RUN;
+    private long startNanos;
+    private long endNanos;
+    private int retries;
+    private String details = "";
+    private Throwable failureCause;
+    private final List<String> screenshots = new ArrayList<>();
+    private final List<QuestionTiming> questionTimings = new ArrayList<>();
+    private final Map<String, Double> metrics = new LinkedHashMap<>();
+
+    public StepResult(int stepNumber, String name) {
+        this.stepNumber = stepNumber;
+        this.name = name;
+    }
+
+    StepResult start() {
+        status = Status.RUNNING;
+        startNanos = System.nanoTime();
+        return this;
+    }
+
+    void passed(String details) {
+        this.details = details;
+        finish(Status.PASSED);
+    }
+
+    void failed(Throwable cause) {
+        this.failureCause = cause;
+        this.details = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status outcome) {
+        status = outcome;
+        endNanos = System.nanoTime();
+    }
+
+    void addRetry() {
+        retries++;
+    }
+
+    void addScreenshot(String filename) {
+        screenshots.add(filename);
+    }
+
+    void addQuestionTiming(int questionNumber, long nanos) {
+        questionTimings.add(new QuestionTiming(questionNumber, nanos));
+    }
+
+    void addMetric(String name, double value) {
+        metrics.put(name, value);
+    }
+
+    public int getStepNumber() { return stepNumber; }
+    public String getName() { return name; }
+    public Status getStatus() { return status; }
+    public long getStartNanos() { return startNanos; }
+    public long getEndNanos() { return endNanos; }
+    public int getRetries() { return retries; }
+    public String getDetails() { return details; }
+    public Throwable getFailureCause() { return failureCause; }
+    public List<String> getScreenshots() { return Collections.unmodifiableList(screenshots); }
+    public List<QuestionTiming> getQuestionTimings() { return Collections.unmodifiableList(questionTimings); }
+    public Map<String, Double> getMetrics() { return Collections.unmodifiableMap(metrics); }
+
+    public double getDurationMillis() {
+        if (status == Status.NOT_RUN) {
+            return 0;
+        }
+        long end = status == Status.RUNNING ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1_000_000.0;
+    }
+}
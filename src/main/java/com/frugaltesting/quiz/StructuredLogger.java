@@ -0,0 +1,443 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous structured logger for the quiz harness.
+ * Callers fill preallocated slots of a ring buffer; a single appender thread
+ * turns them into JSON Lines written through a reused NIO buffer, rolls the
+ * file by size and keeps a bounded tail of recent lines for reports.
+ */
+public class StructuredLogger implements AutoCloseable {
+
+    public enum Level { INFO, WARN, ERROR }
+
+    static final int DEFAULT_RING_CAPACITY = 1024;
+    static final long DEFAULT_ROLL_BYTES = 8L * 1024 * 1024;
+    static final int DEFAULT_MAX_BACKUPS = 5;
+    static final int DEFAULT_TAIL_LINES = 200;
+
+    private static final DateTimeFormatter CLOCK = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final Json JSON = new Json();
+    // U+FFFD in UTF-8, written in place of characters the encoder rejects
+    private static final byte[] REPLACEMENT = "\uFFFD".getBytes(StandardCharsets.UTF_8);
+
+    // Preallocated, reused record slot
+    private static final class Slot {
+        long epochMillis;
+        long nanoTime;
+        String step;
+        Level level;
+        String event;
+    }
+
+    /**
+     * A record read back from the log file.
+     */
+    public static final class Entry {
+        private final long epochMillis;
+        private final long nanoTime;
+        private final String step;
+        private final Level level;
+        private final String event;
+
+        Entry(long epochMillis, long nanoTime, String step, Level level, String event) {
+            this.epochMillis = epochMillis;
+            this.nanoTime = nanoTime;
+            this.step = step;
+            this.level = level;
+            this.event = event;
+        }
+
+        public long getEpochMillis() { return epochMillis; }
+        public long getNanoTime() { return nanoTime; }
+        public String getStep() { return step; }
+        public Level getLevel() { return level; }
+        public String getEvent() { return event; }
+
+        /** The classic "[HH:mm:ss] message" form used by the text log and report. */
+        public String toDisplayLine() {
+            return formatDisplayLine(epochMillis, event);
+        }
+    }
+
+    private final Path logFile;
+    private final long rollBytes;
+    private final int maxBackups;
+    private final boolean echoToConsole;
+
+    private final Slot[] ring;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private long published;
+    private long consumed;
+    private boolean closing;
+
+    private final int tailCapacity;
+    private final Deque<String> tail;
+    private final Thread appender;
+
+    private FileChannel channel;
+    private long fileBytes;
+    private long recordCount;
+    private final StringBuilder scratch = new StringBuilder(512);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    public StructuredLogger(Path logFile, boolean echoToConsole) {
+        this(logFile, DEFAULT_RING_CAPACITY, DEFAULT_ROLL_BYTES, DEFAULT_MAX_BACKUPS, DEFAULT_TAIL_LINES, echoToConsole);
+    }
+
+    public StructuredLogger(Path logFile, int ringCapacity, long rollBytes, int maxBackups,
+                            int tailCapacity, boolean echoToConsole) {
+        this.logFile = logFile;
+        this.rollBytes = rollBytes;
+        this.maxBackups = maxBackups;
+        this.echoToConsole = echoToConsole;
+        this.tailCapacity = tailCapacity;
+        this.tail = new ArrayDeque<>(tailCapacity);
+
+        int capacity = Integer.highestOneBit(Math.max(2, ringCapacity - 1)) << 1;
+        this.ring = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+
+        try {
+            Path parent = logFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            openChannel();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open log file " + logFile, e);
+        }
+
+        this.appender = new Thread(this::appendLoop, "log-appender-" + logFile.getFileName());
+        this.appender.setDaemon(true);
+        this.appender.start();
+    }
+
+    public void log(String step, Level level, String event) {
+        long epochMillis = System.currentTimeMillis();
+        long nanoTime = System.nanoTime();
+        lock.lock();
+        try {
+            while (published - consumed >= ring.length && !closing) {
+                notFull.awaitUninterruptibly();
+            }
+            if (closing) {
+                return;
+            }
+            Slot slot = ring[(int) (published & mask)];
+            slot.epochMillis = epochMillis;
+            slot.nanoTime = nanoTime;
+            slot.step = step;
+            slot.level = level;
+            slot.event = event;
+            published++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendLoop() {
+        while (true) {
+            long from;
+            long upTo;
+            lock.lock();
+            try {
+                while (consumed == published && !closing) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (consumed == published) {
+                    break;
+                }
+                from = consumed;
+                upTo = published;
+            } finally {
+                lock.unlock();
+            }
+
+            // Slots in [from, upTo) cannot be reused until 'consumed' moves past them
+            scratch.setLength(0);
+            for (long seq = from; seq < upTo; seq++) {
+                Slot slot = ring[(int) (seq & mask)];
+                appendJson(slot);
+                remember(slot);
+            }
+            writeScratch();
+
+            lock.lock();
+            try {
+                consumed = upTo;
+                recordCount += upTo - from;
+                notFull.signalAll();
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        closeChannel();
+    }
+
+    private void appendJson(Slot slot) {
+        scratch.append("{\"ts\":").append(slot.epochMillis)
+            .append(",\"nano\":").append(slot.nanoTime)
+            .append(",\"step\":");
+        appendQuoted(slot.step);
+        scratch.append(",\"level\":\"").append(slot.level.name()).append("\",\"event\":");
+        appendQuoted(slot.event);
+        scratch.append("}\n");
+    }
+
+    private void appendQuoted(String value) {
+        if (value == null) {
+            scratch.append("null");
+            return;
+        }
+        scratch.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': scratch.append("\\\""); break;
+                case '\\': scratch.append("\\\\"); break;
+                case '\n': scratch.append("\\n"); break;
+                case '\r': scratch.append("\\r"); break;
+                case '\t': scratch.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        scratch.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        scratch.append(c);
+                    }
+            }
+        }
+        scratch.append('"');
+    }
+
+    private void remember(Slot slot) {
+        String line = formatDisplayLine(slot.epochMillis, slot.event);
+        if (echoToConsole) {
+            System.out.println(line);
+        }
+        synchronized (tail) {
+            if (tail.size() == tailCapacity) {
+                tail.removeFirst();
+            }
+            tail.addLast(line);
+        }
+    }
+
+    private void writeScratch() {
+        try {
+            CharBuffer chars = CharBuffer.wrap(scratch);
+            encoder.reset();
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, true);
+                if (result.isOverflow()) {
+                    flushBuffer();
+                    continue;
+                }
+                if (result.isError()) {
+                    // A lone surrogate (e.g. a truncated emoji) would otherwise end the line right here
+                    if (buffer.remaining() < REPLACEMENT.length) {
+                        flushBuffer();
+                    }
+                    buffer.put(REPLACEMENT);
+                    chars.position(chars.position() + result.length());
+                    continue;
+                }
+                encoder.flush(buffer);
+                flushBuffer();
+                break;
+            }
+            if (fileBytes >= rollBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Log appender failed: " + e.getMessage());
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fileBytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        for (int i = maxBackups - 1; i >= 1; i--) {
+            Path older = backup(i);
+            if (Files.exists(older)) {
+                Files.move(older, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxBackups > 0) {
+            Files.move(logFile, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(logFile);
+        }
+        openChannel();
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        fileBytes = channel.size();
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("⚠️ Error closing log file: " + e.getMessage());
+        }
+    }
+
+    private Path backup(int index) {
+        return backup(logFile, index);
+    }
+
+    private static Path backup(Path logFile, int index) {
+        return logFile.resolveSibling(logFile.getFileName() + "." + index);
+    }
+
+    /**
+     * Block until every record published so far has reached the log file.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            long target = published;
+            while (consumed < target && appender.isAlive()) {
+                drained.awaitNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stream every record still on disk (rolled segments first) to the consumer.
+     */
+    public void forEachEntry(Consumer<Entry> consumer) throws IOException {
+        flush();
+        forEachEntry(logFile, consumer);
+    }
+
+    /**
+     * Stream the records of a (possibly closed) log file and its rolled segments.
+     */
+    public static void forEachEntry(Path logFile, Consumer<Entry> consumer) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        for (int i = 1; Files.exists(backup(logFile, i)); i++) {
+            segments.add(0, backup(logFile, i));
+        }
+        segments.add(logFile);
+
+        for (Path segment : segments) {
+            if (!Files.exists(segment)) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        consumer.accept(parse(line));
+                    }
+                }
+            }
+        }
+    }
+
+    static Entry parse(String line) {
+        Map<String, Object> record = JSON.toType(line, Json.MAP_TYPE);
+        return new Entry(
+            ((Number) record.get("ts")).longValue(),
+            ((Number) record.get("nano")).longValue(),
+            (String) record.get("step"),
+            Level.valueOf((String) record.get("level")),
+            (String) record.get("event"));
+    }
+
+    static String formatDisplayLine(long epochMillis, String event) {
+        return "[" + CLOCK.format(LocalTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE)) + "] " + event;
+    }
+
+    public List<String> getTail() {
+        synchronized (tail) {
+            return new ArrayList<>(tail);
+        }
+    }
+
+    public long getRecordCount() {
+        flush();
+        lock.lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    @Override
+    public void close() {
+        flush();
+        lock.lock();
+        try {
+            closing = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            appender.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
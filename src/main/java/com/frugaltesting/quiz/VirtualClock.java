@@ -0,0 +1,110 @@
+package com.frugaltesting.quiz;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Fake-timer shim for the quiz page. Replaces setInterval, setTimeout and
+ * Date.now with a virtual clock that only moves when {@link #advance(long)}
+ * is called, so 30-second countdowns expire in a single round trip.
+ *
+ * The real setTimeout/clearTimeout stay reachable as
+ * window.__quizRealSetTimeout / __quizRealClearTimeout for DomWaitEngine, and
+ * the interval tracker (window.__quizActiveIntervals) keeps counting handles.
+ */
+public class VirtualClock {
+
+    private static final String INSTALL_SCRIPT =
+        "if (window.__quizClock) { return window.__quizClock.now; }" +
+        "var real = {setInterval: window.setInterval, clearInterval: window.clearInterval," +
+        "            setTimeout: window.setTimeout, clearTimeout: window.clearTimeout, dateNow: Date.now};" +
+        "window.__quizRealSetTimeout = real.setTimeout.bind(window);" +
+        "window.__quizRealClearTimeout = real.clearTimeout.bind(window);" +
+        "var timers = {}, nextId = 1;" +
+        "var clock = {now: real.dateNow.call(Date), timers: timers};" +
+        "function schedule(fn, delay, args, repeat) {" +
+        "  var id = nextId++; delay = Math.max(0, Number(delay) || 0);" +
+        "  timers[id] = {fn: fn, args: args, due: clock.now + (repeat ? Math.max(1, delay) : delay)," +
+        "               interval: repeat ? Math.max(1, delay) : 0};" +
+        "  return id;" +
+        "}" +
+        "function cancel(id) { delete timers[id]; }" +
+        "clock.advance = function(ms) {" +
+        "  var target = clock.now + ms, fired = 0;" +
+        "  while (true) {" +
+        "    var first = null;" +
+        "    for (var id in timers) {" +
+        "      if (timers[id].due <= target && (first === null || timers[id].due < timers[first].due)) { first = id; }" +
+        "    }" +
+        "    if (first === null) { break; }" +
+        "    var t = timers[first];" +
+        "    clock.now = t.due;" +
+        "    if (t.interval) { t.due += t.interval; } else { delete timers[first]; }" +
+        "    fired++;" +
+        "    if (typeof t.fn === 'function') { t.fn.apply(window, t.args); }" +
+        "  }" +
+        "  clock.now = target;" +
+        "  return fired;" +
+        "};" +
+        "clock.uninstall = function() {" +
+        "  window.setInterval = real.setInterval; window.clearInterval = real.clearInterval;" +
+        "  window.setTimeout = real.setTimeout; window.clearTimeout = real.clearTimeout;" +
+        "  Date.now = real.dateNow;" +
+        "  for (var id in timers) { if (window.__quizActiveIntervals) { window.__quizActiveIntervals.delete(Number(id)); } }" +
+        "  delete window.__quizClock;" +
+        "};" +
+        "window.setInterval = function(fn, delay) { return schedule(fn, delay, Array.prototype.slice.call(arguments, 2), true); };" +
+        "window.clearInterval = cancel;" +
+        "window.setTimeout = function(fn, delay) { return schedule(fn, delay, Array.prototype.slice.call(arguments, 2), false); };" +
+        "window.clearTimeout = cancel;" +
+        "Date.now = function() { return clock.now; };" +
+        // Keep the interval tracker counting handles on top of the virtual timers
+        "if (window.__quizActiveIntervals) {" +
+        "  var active = window.__quizActiveIntervals, set = window.setInterval, clear = window.clearInterval;" +
+        "  window.setInterval = function() { var id = set.apply(window, arguments); active.add(id); return id; };" +
+        "  window.clearInterval = function(id) { active.delete(id); return clear.call(window, id); };" +
+        "}" +
+        "window.__quizClock = clock;" +
+        "return clock.now;";
+
+    private static final String ADVANCE_SCRIPT =
+        "if (!window.__quizClock) { throw new Error('Virtual clock not installed'); }" +
+        "return window.__quizClock.advance(arguments[0]);";
+
+    private static final String UNINSTALL_SCRIPT =
+        "if (window.__quizClock) { window.__quizClock.uninstall(); }";
+
+    private final WebDriver driver;
+
+    public VirtualClock(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Take over the page's timers. Timers created before this call keep
+     * running on real time, so install before the quiz starts.
+     */
+    public void install() {
+        execute(INSTALL_SCRIPT);
+    }
+
+    /**
+     * Move virtual time forward, firing every due timer in order.
+     *
+     * @return the number of timer callbacks that ran
+     */
+    public int advance(long millis) {
+        return ((Number) execute(ADVANCE_SCRIPT, millis)).intValue();
+    }
+
+    /**
+     * Restore the real timers. Pending virtual timers are dropped.
+     */
+    public void uninstall() {
+        execute(UNINSTALL_SCRIPT);
+    }
+
+    private Object execute(String script, Object... args) {
+        return ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+}
@@ -0,0 +1,417 @@
+package com.frugaltesting.quiz;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Visual regression over the screenshot folders. Every named capture
+ * (subfolder + description, e.g. "programming_easy/landing_page_loaded") has
+ * a baseline PNG plus a sidecar with the baseline's per-tile difference
+ * hashes. A screenshot is split into tiles and each tile is hashed. Only
+ * tiles whose hash differs from the baseline's get a pixel-by-pixel diff, so
+ * the baseline image is not even decoded when nothing changed. Images and
+ * tiles are processed in parallel on a fork-join pool.
+ *
+ * <pre>
+ *   -Dquiz.mode=visual
+ *   -Dquiz.visual.screenshots=test-screenshots
+ *   -Dquiz.visual.baselines=visual-baselines
+ *   -Dquiz.visual.update=true          accept the current screenshots as baselines
+ *   -Dquiz.visual.maxDiffRatio=0.001   share of pixels allowed to differ
+ * </pre>
+ */
+public class VisualRegression {
+
+    static final int TILE_SIZE = 64;
+    // Per-channel difference below which a pixel counts as unchanged (anti-aliasing, JPEG-like noise)
+    static final int PIXEL_TOLERANCE = 24;
+    static final double DEFAULT_MAX_DIFF_RATIO = 0.001;
+
+    private static final Pattern SCREENSHOT_NAME = Pattern.compile("\\d+_(.+)\\.png");
+    private static final String DIFF_FOLDER = "visual-diffs";
+    private static final String METRICS_FOLDER = "test-metrics/";
+    private static final int DIFF_COLOR = 0xFF0000;
+
+    public enum Status { MATCH, CHANGED, NEW, UPDATED, SIZE_CHANGED }
+
+    /**
+     * Outcome of one named capture.
+     */
+    public static final class Comparison {
+        private final String key;
+        private final Status status;
+        private final int tiles;
+        private final int changedTiles;
+        private final long diffPixels;
+        private final long totalPixels;
+        private final long nanos;
+
+        Comparison(String key, Status status, int tiles, int changedTiles, long diffPixels, long totalPixels, long nanos) {
+            this.key = key;
+            this.status = status;
+            this.tiles = tiles;
+            this.changedTiles = changedTiles;
+            this.diffPixels = diffPixels;
+            this.totalPixels = totalPixels;
+            this.nanos = nanos;
+        }
+
+        public String getKey() { return key; }
+        public Status getStatus() { return status; }
+        public int getTiles() { return tiles; }
+        public int getChangedTiles() { return changedTiles; }
+        public long getDiffPixels() { return diffPixels; }
+        public long getTotalPixels() { return totalPixels; }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+
+        public boolean isFailure() {
+            return status == Status.CHANGED || status == Status.SIZE_CHANGED;
+        }
+    }
+
+    // Decoded ARGB pixels plus the tile hashes computed from them
+    private static final class Snapshot {
+        final int width;
+        final int height;
+        final int[] pixels;
+        final long[] tileHashes;
+
+        Snapshot(int width, int height, int[] pixels, long[] tileHashes) {
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+            this.tileHashes = tileHashes;
+        }
+    }
+
+    private final Path screenshots;
+    private final Path baselines;
+    private final boolean update;
+    private final double maxDiffRatio;
+    private final ForkJoinPool pool;
+
+    public VisualRegression(Path screenshots, Path baselines, boolean update, double maxDiffRatio, int parallelism) {
+        this.screenshots = screenshots;
+        this.baselines = baselines;
+        this.update = update;
+        this.maxDiffRatio = maxDiffRatio;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    public static VisualRegression fromProperties() {
+        String maxDiffRatio = System.getProperty("quiz.visual.maxDiffRatio");
+        return new VisualRegression(
+            Paths.get(System.getProperty("quiz.visual.screenshots", "test-screenshots")),
+            Paths.get(System.getProperty("quiz.visual.baselines", "visual-baselines")),
+            Boolean.getBoolean("quiz.visual.update"),
+            maxDiffRatio == null ? DEFAULT_MAX_DIFF_RATIO : Double.parseDouble(maxDiffRatio),
+            Integer.getInteger("quiz.visual.parallelism", Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Compare every named capture against its baseline.
+     *
+     * @return true when no capture changed beyond the allowed ratio
+     */
+    public boolean run() throws IOException {
+        long start = System.nanoTime();
+        Map<String, Path> captures = latestCaptures();
+        System.out.println("🖼️ Comparing " + captures.size() + " captures in " + screenshots
+            + " against " + baselines + " (" + pool.getParallelism() + " threads)");
+
+        List<Comparison> comparisons;
+        try {
+            comparisons = pool.submit(() -> captures.entrySet().parallelStream()
+                .map(capture -> compare(capture.getKey(), capture.getValue()))
+                .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Visual comparison interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Visual comparison failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        comparisons.sort(Comparator.comparing(Comparison::getKey));
+        int failures = 0;
+        for (Comparison comparison : comparisons) {
+            if (comparison.isFailure()) {
+                failures++;
+                System.out.println(String.format("❌ %s: %s, %d/%d tiles changed, %d pixels differ (%.3f%%) - diff in %s",
+                    comparison.getKey(), comparison.getStatus(), comparison.getChangedTiles(), comparison.getTiles(),
+                    comparison.getDiffPixels(), 100.0 * comparison.getDiffPixels() / Math.max(1, comparison.getTotalPixels()),
+                    diffPath(comparison.getKey())));
+            } else if (comparison.getStatus() != Status.MATCH) {
+                System.out.println("🆕 " + comparison.getKey() + ": " + comparison.getStatus() + " baseline");
+            }
+        }
+        writeSummary(comparisons);
+        System.out.println(String.format("⏱️ %d captures compared in %d ms - %d changed, %d matched",
+            comparisons.size(), (System.nanoTime() - start) / 1_000_000, failures,
+            comparisons.stream().filter(comparison -> comparison.getStatus() == Status.MATCH).count()));
+        return failures == 0;
+    }
+
+    // Numbered files from older runs may share a description; the newest one is the current capture
+    private Map<String, Path> latestCaptures() throws IOException {
+        Map<String, Path> captures = new LinkedHashMap<>();
+        if (!Files.isDirectory(screenshots)) {
+            return captures;
+        }
+        try (Stream<Path> files = Files.walk(screenshots)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                Matcher name = SCREENSHOT_NAME.matcher(file.getFileName().toString());
+                // Failure stills have no stable expected look
+                if (!name.matches() || name.group(1).startsWith("error_")) {
+                    continue;
+                }
+                Path folder = screenshots.relativize(file.getParent());
+                String key = folder.toString().isEmpty() ? name.group(1) : folder.toString().replace('\\', '/') + "/" + name.group(1);
+                Path current = captures.get(key);
+                if (current == null || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(current)) > 0) {
+                    captures.put(key, file);
+                }
+            }
+        }
+        return captures;
+    }
+
+    private Comparison compare(String key, Path capture) {
+        long start = System.nanoTime();
+        try {
+            Snapshot current = snapshot(read(capture));
+            int tiles = current.tileHashes.length;
+            long totalPixels = (long) current.width * current.height;
+            Path baselineImage = baselines.resolve(key + ".png");
+            Path baselineHashes = baselines.resolve(key + ".tiles");
+
+            if (update || !Files.exists(baselineImage)) {
+                Status status = Files.exists(baselineImage) ? Status.UPDATED : Status.NEW;
+                Files.createDirectories(baselineImage.getParent());
+                Files.copy(capture, baselineImage, StandardCopyOption.REPLACE_EXISTING);
+                writeTileHashes(baselineHashes, current);
+                return new Comparison(key, status, tiles, 0, 0, totalPixels, System.nanoTime() - start);
+            }
+
+            long[] expected = readTileHashes(baselineHashes, current.width, current.height);
+            Snapshot baseline = null;
+            if (expected == null) {
+                // Missing or stale sidecar (or a resized capture): hash the baseline once and keep the result
+                baseline = snapshot(read(baselineImage));
+                if (baseline.width != current.width || baseline.height != current.height) {
+                    writeDiff(key, current, null);
+                    return new Comparison(key, Status.SIZE_CHANGED, tiles, tiles, totalPixels, totalPixels,
+                        System.nanoTime() - start);
+                }
+                writeTileHashes(baselineHashes, baseline);
+                expected = baseline.tileHashes;
+            }
+
+            long[] expectedHashes = expected;
+            int[] changed = IntStream.range(0, tiles).filter(tile -> current.tileHashes[tile] != expectedHashes[tile]).toArray();
+            if (changed.length == 0) {
+                return new Comparison(key, Status.MATCH, tiles, 0, 0, totalPixels, System.nanoTime() - start);
+            }
+
+            if (baseline == null) {
+                baseline = snapshot(read(baselineImage));
+            }
+            Snapshot reference = baseline;
+            boolean[] diffMask = new boolean[current.pixels.length];
+            long diffPixels = IntStream.of(changed).parallel()
+                .mapToLong(tile -> diffTile(current, reference, tile, diffMask))
+                .sum();
+            Status status = diffPixels > maxDiffRatio * totalPixels ? Status.CHANGED : Status.MATCH;
+            if (status == Status.CHANGED) {
+                writeDiff(key, current, diffMask);
+            }
+            return new Comparison(key, status, tiles, changed.length, diffPixels, totalPixels, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compare " + capture, e);
+        }
+    }
+
+    private static BufferedImage read(Path file) throws IOException {
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            throw new IOException("Not a readable image: " + file);
+        }
+        return image;
+    }
+
+    private static Snapshot snapshot(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels;
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        } else {
+            pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        }
+        int columns = tileColumns(width);
+        long[] hashes = IntStream.range(0, columns * tileRows(height)).parallel()
+            .mapToLong(tile -> differenceHash(pixels, width, height, tile % columns * TILE_SIZE, tile / columns * TILE_SIZE))
+            .toArray();
+        return new Snapshot(width, height, pixels, hashes);
+    }
+
+    private static int tileColumns(int width) {
+        return (width + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    private static int tileRows(int height) {
+        return (height + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    /**
+     * 64-bit dHash of one tile: average luminance over a 9x8 grid, one bit
+     * per horizontally adjacent pair (left brighter than right).
+     */
+    static long differenceHash(int[] pixels, int width, int height, int x0, int y0) {
+        int tileWidth = Math.min(TILE_SIZE, width - x0);
+        int tileHeight = Math.min(TILE_SIZE, height - y0);
+        double[] grid = new double[9 * 8];
+        int[] counts = new int[9 * 8];
+        for (int y = 0; y < tileHeight; y++) {
+            int row = y * 8 / tileHeight;
+            int offset = (y0 + y) * width + x0;
+            for (int x = 0; x < tileWidth; x++) {
+                int rgb = pixels[offset + x];
+                int cell = row * 9 + x * 9 / tileWidth;
+                grid[cell] += 299 * (rgb >> 16 & 0xFF) + 587 * (rgb >> 8 & 0xFF) + 114 * (rgb & 0xFF);
+                counts[cell]++;
+            }
+        }
+        long hash = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                int left = row * 9 + column;
+                double leftMean = counts[left] == 0 ? 0 : grid[left] / counts[left];
+                double rightMean = counts[left + 1] == 0 ? 0 : grid[left + 1] / counts[left + 1];
+                hash = hash << 1 | (leftMean > rightMean ? 1 : 0);
+            }
+        }
+        // Fold in the tile's mean brightness (32 levels) so flat tiles that changed colour still differ
+        long total = 0;
+        int cells = 0;
+        for (int cell = 0; cell < grid.length; cell++) {
+            if (counts[cell] > 0) {
+                total += (long) (grid[cell] / counts[cell]);
+                cells++;
+            }
+        }
+        return hash * 31 + (cells == 0 ? 0 : total / cells / 8000);
+    }
+
+    private static long diffTile(Snapshot current, Snapshot baseline, int tile, boolean[] diffMask) {
+        int columns = tileColumns(current.width);
+        int x0 = tile % columns * TILE_SIZE;
+        int y0 = tile / columns * TILE_SIZE;
+        int x1 = Math.min(x0 + TILE_SIZE, current.width);
+        int y1 = Math.min(y0 + TILE_SIZE, current.height);
+        long differing = 0;
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                int index = y * current.width + x;
+                int a = current.pixels[index];
+                int b = baseline.pixels[index];
+                if (Math.abs((a >> 16 & 0xFF) - (b >> 16 & 0xFF)) > PIXEL_TOLERANCE
+                        || Math.abs((a >> 8 & 0xFF) - (b >> 8 & 0xFF)) > PIXEL_TOLERANCE
+                        || Math.abs((a & 0xFF) - (b & 0xFF)) > PIXEL_TOLERANCE) {
+                    diffMask[index] = true;
+                    differing++;
+                }
+            }
+        }
+        return differing;
+    }
+
+    // Current capture, dimmed, with differing pixels in red; a null mask marks the whole image
+    private void writeDiff(String key, Snapshot current, boolean[] diffMask) throws IOException {
+        BufferedImage diff = new BufferedImage(current.width, current.height, BufferedImage.TYPE_INT_RGB);
+        int[] out = ((DataBufferInt) diff.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < out.length; i++) {
+            int rgb = current.pixels[i];
+            out[i] = diffMask == null || diffMask[i] ? DIFF_COLOR
+                : (rgb >> 16 & 0xFF) / 3 + 170 << 16 | (rgb >> 8 & 0xFF) / 3 + 170 << 8 | (rgb & 0xFF) / 3 + 170;
+        }
+        Path file = diffPath(key);
+        Files.createDirectories(file.getParent());
+        ImageIO.write(diff, "png", file.toFile());
+    }
+
+    private static Path diffPath(String key) {
+        return Paths.get(DIFF_FOLDER, key + ".png");
+    }
+
+    private static void writeTileHashes(Path file, Snapshot snapshot) throws IOException {
+        StringBuilder text = new StringBuilder();
+        text.append(snapshot.width).append(' ').append(snapshot.height).append(' ').append(TILE_SIZE).append('\n');
+        for (long hash : snapshot.tileHashes) {
+            text.append(Long.toHexString(hash)).append('\n');
+        }
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Null when the sidecar is missing or was computed for another size or tiling
+    private static long[] readTileHashes(Path file, int width, int height) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(width + " " + height + " " + TILE_SIZE)
+                || lines.size() - 1 != tileColumns(width) * tileRows(height)) {
+            return null;
+        }
+        long[] hashes = new long[lines.size() - 1];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = Long.parseUnsignedLong(lines.get(i + 1), 16);
+        }
+        return hashes;
+    }
+
+    private static void writeSummary(List<Comparison> comparisons) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path file = Paths.get(METRICS_FOLDER, "visual_" + timestamp + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("capture,status,tiles,changed_tiles,diff_pixels,total_pixels,compare_ms\n");
+                for (Comparison comparison : comparisons) {
+                    writer.write(comparison.getKey() + "," + comparison.getStatus() + "," + comparison.getTiles() + ","
+                        + comparison.getChangedTiles() + "," + comparison.getDiffPixels() + ","
+                        + comparison.getTotalPixels() + "," + String.format("%.1f", comparison.getMillis()) + "\n");
+                }
+            }
+            System.out.println("📈 Visual comparison exported: " + file);
+        } catch (IOException e) {
+            System.out.println("⚠️ Failed to export visual comparison: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.frugaltesting.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsLiteralParserTest {
+
+    @Test
+    void parsesObjectsArraysAndScalars() {
+        Map<?, ?> value = (Map<?, ?>) JsLiteralParser.parseAssignment(
+            "const data = { name: 'quiz', \"count\": 3, ratio: -1.5e2, ok: true, off: false, none: null, list: [1, 'two'] };",
+            "data");
+        assertEquals("quiz", value.get("name"));
+        assertEquals(3.0, value.get("count"));
+        assertEquals(-150.0, value.get("ratio"));
+        assertEquals(Boolean.TRUE, value.get("ok"));
+        assertEquals(Boolean.FALSE, value.get("off"));
+        assertTrue(value.containsKey("none"));
+        assertNull(value.get("none"));
+        assertEquals(Arrays.asList(1.0, "two"), value.get("list"));
+    }
+
+    @Test
+    void keepsKeyOrder() {
+        Map<?, ?> value = (Map<?, ?>) JsLiteralParser.parseAssignment("let order = { b: 1, a: 2, c: 3 }", "order");
+        assertEquals(Arrays.asList("b", "a", "c"), Arrays.asList(value.keySet().toArray()));
+    }
+
+    @Test
+    void skipsCommentsAndTrailingCommas() {
+        List<?> value = (List<?>) JsLiteralParser.parseAssignment(
+            "var items = [\n  // first\n  { id: 1, },\n  /* second */ { id: 2 },\n];", "items");
+        assertEquals(2, value.size());
+        assertEquals(Collections.singletonMap("id", 2.0), value.get(1));
+    }
+
+    @Test
+    void decodesStringEscapes() {
+        List<?> value = (List<?>) JsLiteralParser.parseAssignment(
+            "const s = ['a\\'b', \"q\\\"t\", 'tab\\there', '\\u00e9\\x41', `plain`];", "s");
+        assertEquals(Arrays.asList("a'b", "q\"t", "tab\there", "éA", "plain"), value);
+    }
+
+    @Test
+    void findsTheNamedDeclarationOnly() {
+        Object value = JsLiteralParser.parseAssignment("const quizDataOld = 1; const quizData = 2;", "quizData");
+        assertEquals(2.0, value);
+    }
+
+    @Test
+    void rejectsMissingDeclaration() {
+        assertThrows(IllegalArgumentException.class, () -> JsLiteralParser.parseAssignment("const other = 1;", "data"));
+    }
+
+    @Test
+    void rejectsUnsupportedValues() {
+        assertThrows(IllegalArgumentException.class,
+            () -> JsLiteralParser.parseAssignment("const data = { load: loadQuestions() };", "data"));
+        assertThrows(IllegalArgumentException.class,
+            () -> JsLiteralParser.parseAssignment("const data = [`${name}`];", "data"));
+        assertThrows(IllegalArgumentException.class,
+            () -> JsLiteralParser.parseAssignment("const data = { a: 1 b: 2 };", "data"));
+    }
+
+    @Test
+    void parsesTheQuizDataInIndexHtml() throws IOException {
+        QuestionBank bank = QuestionBank.parse(new String(Files.readAllBytes(Paths.get("index.html")),
+            StandardCharsets.UTF_8), "test");
+        assertTrue(bank.categories().contains("programming"));
+        for (String category : bank.categories()) {
+            for (String difficulty : bank.difficulties(category)) {
+                List<QuestionBank.Question> questions = bank.questions(category, difficulty);
+                assertFalse(questions.isEmpty(), category + "/" + difficulty);
+                for (QuestionBank.Question question : questions) {
+                    assertFalse(question.getText().isEmpty());
+                    assertTrue(question.getCorrect() >= 0 && question.getCorrect() < question.getOptions().size(),
+                        question.getText());
+                }
+            }
+        }
+    }
+}
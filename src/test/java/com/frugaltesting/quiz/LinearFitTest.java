@@ -0,0 +1,61 @@
+package com.frugaltesting.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LinearFitTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void exactLineHasPerfectFit() {
+        LinearFit fit = LinearFit.of(new double[] {1, 2, 3, 4}, new double[] {5, 7, 9, 11});
+        assertEquals(2, fit.getSlope(), EPSILON);
+        assertEquals(3, fit.getIntercept(), EPSILON);
+        assertEquals(1, fit.getRSquared(), EPSILON);
+    }
+
+    @Test
+    void noisyPointsMatchLeastSquares() {
+        // Means (2.5, 2.5); sxx = 5, sxy = 4, syy = 5
+        LinearFit fit = LinearFit.of(new double[] {1, 2, 3, 4}, new double[] {1, 3, 2, 4});
+        assertEquals(0.8, fit.getSlope(), EPSILON);
+        assertEquals(0.5, fit.getIntercept(), EPSILON);
+        assertEquals(0.64, fit.getRSquared(), EPSILON);
+    }
+
+    @Test
+    void flatSeriesIsAPerfectZeroSlope() {
+        LinearFit fit = LinearFit.of(new double[] {1, 2, 3}, new double[] {4, 4, 4});
+        assertEquals(0, fit.getSlope(), EPSILON);
+        assertEquals(4, fit.getIntercept(), EPSILON);
+        assertEquals(1, fit.getRSquared(), EPSILON);
+    }
+
+    @Test
+    void identicalXValuesGiveNoSlope() {
+        LinearFit fit = LinearFit.of(new double[] {2, 2, 2}, new double[] {1, 2, 6});
+        assertEquals(0, fit.getSlope(), EPSILON);
+        assertEquals(3, fit.getIntercept(), EPSILON);
+        assertEquals(0, fit.getRSquared(), EPSILON);
+    }
+
+    @Test
+    void fewerThanTwoPointsGiveNoSlope() {
+        LinearFit single = LinearFit.of(new double[] {7}, new double[] {9});
+        assertEquals(0, single.getSlope(), EPSILON);
+        assertEquals(9, single.getIntercept(), EPSILON);
+
+        LinearFit empty = LinearFit.of(new double[0], new double[0]);
+        assertEquals(0, empty.getSlope(), EPSILON);
+        assertEquals(0, empty.getIntercept(), EPSILON);
+    }
+
+    @Test
+    void extraValuesInTheLongerArrayAreIgnored() {
+        LinearFit fit = LinearFit.of(new double[] {0, 1, 2}, new double[] {1, 3, 5, 100});
+        assertEquals(2, fit.getSlope(), EPSILON);
+        assertEquals(1, fit.getIntercept(), EPSILON);
+    }
+}
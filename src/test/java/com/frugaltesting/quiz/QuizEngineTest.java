@@ -0,0 +1,72 @@
+package com.frugaltesting.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizEngineTest {
+
+    private static final List<QuestionBank.Question> QUESTIONS = Arrays.asList(
+        new QuestionBank.Question("Q1", Arrays.asList("a", "b", "c"), 0),
+        new QuestionBank.Question("Q2", Arrays.asList("a", "b", "c"), 2),
+        new QuestionBank.Question("Q3", Arrays.asList("a", "b", "c"), 1));
+
+    @Test
+    void countsExactMatchesOnly() {
+        QuizEngine.Score score = QuizEngine.score(QUESTIONS, new int[] {0, 1, 1});
+        assertEquals(2, score.getCorrect());
+        assertEquals(1, score.getWrong());
+        assertEquals(3, score.getTotal());
+        assertEquals("2/3", score.getTotalScore());
+        assertTrue(score.isCorrect(0));
+        assertFalse(score.isCorrect(1));
+        assertTrue(score.isCorrect(2));
+    }
+
+    @Test
+    void unansweredQuestionsAreWrong() {
+        QuizEngine.Score score = QuizEngine.score(QUESTIONS, new int[] {QuizState.UNANSWERED, 2, QuizState.UNANSWERED});
+        assertEquals(1, score.getCorrect());
+        assertFalse(score.isCorrect(0));
+        assertFalse(score.isCorrect(2));
+    }
+
+    @Test
+    void missingAnswersAreWrong() {
+        QuizEngine.Score score = QuizEngine.score(QUESTIONS, new int[] {0});
+        assertEquals("1/3", score.getTotalScore());
+        assertFalse(score.isCorrect(1));
+        assertFalse(score.isCorrect(2));
+    }
+
+    @Test
+    void extraAnswersAreIgnored() {
+        QuizEngine.Score score = QuizEngine.score(QUESTIONS, new int[] {0, 2, 1, 0, 0});
+        assertEquals("3/3", score.getTotalScore());
+    }
+
+    @Test
+    void shortFixedPlanLeavesTheRestUnanswered() {
+        int[] answers = AnswerPlan.fixed(new int[] {0, 2}).answersFor(QUESTIONS);
+        assertArrayEquals(new int[] {0, 2, QuizState.UNANSWERED}, answers);
+        assertEquals("2/3", QuizEngine.score(QUESTIONS, answers).getTotalScore());
+    }
+
+    @Test
+    void longFixedPlanIsRejected() {
+        AnswerPlan plan = AnswerPlan.parse("0,2,1,0");
+        assertThrows(IllegalArgumentException.class, () -> plan.answersFor(QUESTIONS));
+    }
+
+    @Test
+    void fixedPlanOfBankSizeIsUsedAsIs() {
+        assertArrayEquals(new int[] {1, 2, 0}, AnswerPlan.parse("1,2,0").answersFor(QUESTIONS));
+    }
+}
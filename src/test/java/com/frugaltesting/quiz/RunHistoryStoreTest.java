@@ -0,0 +1,186 @@
+package com.frugaltesting.quiz;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunHistoryStoreTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void recordSurvivesRoundTrip() throws IOException {
+        RunHistoryStore.RunRecord record = new RunHistoryStore.RunRecord();
+        record.startEpochMillis = 1_700_000_000_123L;
+        record.setCategory("science");
+        record.setDifficulty("hard");
+        record.outcome = RunHistoryStore.OUTCOME_FAILED;
+        record.source = RunHistoryStore.SOURCE_IMPORTED;
+        record.totalMillis = 1234.5f;
+        record.setStep(0, StepResult.Status.PASSED, 250.25);
+        record.setStep(3, StepResult.Status.FAILED, 99.5);
+        record.setStep(9, StepResult.Status.PASSED, 4000);
+        record.addQuestion(11.5);
+        record.addQuestion(22.75);
+        record.environment = "ci-linux";
+
+        RunHistoryStore store = new RunHistoryStore(folder.resolve("runs.qhist"));
+        store.append(record);
+        List<RunHistoryStore.RunRecord> stored = readAll(store);
+
+        assertEquals(1, stored.size());
+        RunHistoryStore.RunRecord copy = stored.get(0);
+        assertEquals(1_700_000_000_123L, copy.getStartEpochMillis());
+        assertEquals("science", copy.getCategory());
+        assertEquals("hard", copy.getDifficulty());
+        assertEquals(RunHistoryStore.OUTCOME_FAILED, copy.getOutcome());
+        assertEquals(RunHistoryStore.SOURCE_IMPORTED, copy.getSource());
+        assertEquals(1234.5f, copy.getTotalMillis());
+        assertEquals(StepResult.Status.PASSED, copy.getStepStatus(0));
+        assertEquals(250.25f, copy.getStepMillis(0));
+        assertEquals(StepResult.Status.FAILED, copy.getStepStatus(3));
+        assertEquals(99.5f, copy.getStepMillis(3));
+        assertEquals(StepResult.Status.PASSED, copy.getStepStatus(9));
+        assertEquals(4000f, copy.getStepMillis(9));
+        assertEquals(StepResult.Status.NOT_RUN, copy.getStepStatus(5));
+        assertTrue(Float.isNaN(copy.getStepMillis(5)));
+        assertEquals(2, copy.getQuestionCount());
+        assertEquals(11.5f, copy.getQuestionMillis(0));
+        assertEquals(22.75f, copy.getQuestionMillis(1));
+        assertEquals("ci-linux", copy.getEnvironment());
+    }
+
+    @Test
+    void recordsComeBackInAppendOrder() throws IOException {
+        RunHistoryStore store = new RunHistoryStore(folder.resolve("nested").resolve("runs.qhist"));
+        for (long start = 1; start <= 3; start++) {
+            RunHistoryStore.RunRecord record = new RunHistoryStore.RunRecord();
+            record.startEpochMillis = start;
+            store.append(record);
+        }
+        assertEquals(3, store.count());
+        List<Long> starts = new ArrayList<>();
+        store.scan(record -> starts.add(record.getStartEpochMillis()));
+        assertEquals(Arrays.asList(1L, 2L, 3L), starts);
+    }
+
+    @Test
+    void recordBuiltFromStepsKeepsStatusesAndQuestionTimings() throws IOException {
+        StepResult setup = new StepResult(0, "Initialize WebDriver").start();
+        setup.passed("ok");
+        StepResult answers = new StepResult(3, "Answer Questions").start();
+        answers.addQuestionTiming(1, 5_000_000);
+        answers.addQuestionTiming(2, 7_500_000);
+        answers.failed(new IllegalStateException("boom"));
+
+        RunHistoryStore store = new RunHistoryStore(folder.resolve("runs.qhist"));
+        store.append(RunHistoryStore.RunRecord.fromSteps(42, "programming", "easy",
+            Arrays.asList(setup, answers), "local"));
+        RunHistoryStore.RunRecord copy = readAll(store).get(0);
+
+        assertEquals("programming", copy.getCategory());
+        assertEquals("easy", copy.getDifficulty());
+        assertEquals(RunHistoryStore.OUTCOME_FAILED, copy.getOutcome());
+        assertEquals(RunHistoryStore.SOURCE_LIVE, copy.getSource());
+        assertEquals(StepResult.Status.PASSED, copy.getStepStatus(0));
+        assertEquals(StepResult.Status.FAILED, copy.getStepStatus(3));
+        assertEquals(StepResult.Status.NOT_RUN, copy.getStepStatus(1));
+        assertEquals(2, copy.getQuestionCount());
+        assertEquals(5f, copy.getQuestionMillis(0));
+        assertEquals(7.5f, copy.getQuestionMillis(1));
+        assertEquals("local", copy.getEnvironment());
+    }
+
+    @Test
+    void unknownCategoryIsStoredAsUnknown() throws IOException {
+        RunHistoryStore.RunRecord record = new RunHistoryStore.RunRecord();
+        record.setCategory("history");
+        RunHistoryStore store = new RunHistoryStore(folder.resolve("runs.qhist"));
+        store.append(record);
+        assertEquals("unknown", readAll(store).get(0).getCategory());
+    }
+
+    @Test
+    void longEnvironmentIsCutAtACharacterBoundary() throws IOException {
+        String accented = "é".repeat(20);
+        String shifted = "a" + "é".repeat(20);
+        RunHistoryStore store = new RunHistoryStore(folder.resolve("runs.qhist"));
+        for (String environment : Arrays.asList(accented, shifted)) {
+            RunHistoryStore.RunRecord record = new RunHistoryStore.RunRecord();
+            record.environment = environment;
+            store.append(record);
+        }
+        List<RunHistoryStore.RunRecord> stored = readAll(store);
+        assertEquals("é".repeat(16), stored.get(0).getEnvironment());
+        assertEquals("a" + "é".repeat(15), stored.get(1).getEnvironment());
+    }
+
+    @Test
+    void utf8PrefixNeverEndsInsideACharacter() {
+        byte[] utf8 = "ab€".getBytes(StandardCharsets.UTF_8);
+        assertEquals(5, RunHistoryStore.utf8Prefix(utf8, 8));
+        assertEquals(5, RunHistoryStore.utf8Prefix(utf8, 5));
+        assertEquals(2, RunHistoryStore.utf8Prefix(utf8, 4));
+        assertEquals(2, RunHistoryStore.utf8Prefix(utf8, 3));
+        assertEquals(1, RunHistoryStore.utf8Prefix(utf8, 1));
+    }
+
+    @Test
+    void fileOfAnotherVersionIsRejected() throws IOException {
+        Path file = folder.resolve("runs.qhist");
+        ByteBuffer header = ByteBuffer.allocate(RunHistoryStore.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("QHIST001".getBytes(StandardCharsets.US_ASCII));
+        header.putInt(1);
+        header.putInt(128);
+        Files.write(file, header.array());
+
+        RunHistoryStore store = new RunHistoryStore(file);
+        assertThrows(IOException.class, () -> store.append(new RunHistoryStore.RunRecord()));
+        assertThrows(IOException.class, () -> store.scan(record -> { }));
+        assertEquals(RunHistoryStore.HEADER_SIZE, Files.size(file));
+    }
+
+    @Test
+    void missingFileHasNoRecords() throws IOException {
+        RunHistoryStore store = new RunHistoryStore(folder.resolve("absent.qhist"));
+        assertEquals(0, store.count());
+        assertTrue(readAll(store).isEmpty());
+    }
+
+    // scan() reuses one RunRecord instance, so each record is copied
+    private static List<RunHistoryStore.RunRecord> readAll(RunHistoryStore store) throws IOException {
+        List<RunHistoryStore.RunRecord> records = new ArrayList<>();
+        store.scan(record -> records.add(copy(record)));
+        return records;
+    }
+
+    private static RunHistoryStore.RunRecord copy(RunHistoryStore.RunRecord source) {
+        RunHistoryStore.RunRecord copy = new RunHistoryStore.RunRecord();
+        copy.startEpochMillis = source.startEpochMillis;
+        copy.category = source.category;
+        copy.difficulty = source.difficulty;
+        copy.outcome = source.outcome;
+        copy.source = source.source;
+        copy.totalMillis = source.totalMillis;
+        System.arraycopy(source.stepMillis, 0, copy.stepMillis, 0, source.stepMillis.length);
+        System.arraycopy(source.stepStatus, 0, copy.stepStatus, 0, source.stepStatus.length);
+        copy.questionCount = source.questionCount;
+        System.arraycopy(source.questionMillis, 0, copy.questionMillis, 0, source.questionMillis.length);
+        copy.environment = source.environment;
+        return copy;
+    }
+}